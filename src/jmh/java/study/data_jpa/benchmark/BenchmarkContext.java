@@ -0,0 +1,50 @@
+package study.data_jpa.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.data_jpa.DataJpaApplication;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+import study.data_jpa.repository.MemberBulkWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 벤치마크용 스프링 컨텍스트
+ * 임베디드 H2(in-memory) 에 memberCount 만큼 데이터를 넣어서 띄운다.
+ */
+public final class BenchmarkContext {
+
+    public static final String USERNAME_PREFIX = "bench";
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String name, String... properties) {
+        List<String> defaults = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "decorator.datasource.p6spy.enable-logging=false",
+                "logging.level.org.hibernate.SQL=warn"));
+        defaults.addAll(List.of(properties));
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(defaults.toArray(String[]::new))
+                .run();
+    }
+
+    public static void seed(ConfigurableApplicationContext context, int memberCount, int teamCount) {
+        MemberBulkWriter writer = context.getBean(MemberBulkWriter.class);
+        List<Team> teams = IntStream.range(0, teamCount)
+                .mapToObj(i -> new Team("team" + i))
+                .toList();
+        writer.saveAllTeams(teams.stream());
+        writer.saveAll(IntStream.range(0, memberCount)
+                .mapToObj(i -> new Member(USERNAME_PREFIX + i, i % 100, teams.get(i % teamCount))));
+    }
+}
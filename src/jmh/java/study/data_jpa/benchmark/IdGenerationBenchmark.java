@@ -0,0 +1,63 @@
+package study.data_jpa.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.support.id.IdGeneratorStats;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 스레드가 동시에 멤버를 저장할 때 식별자 생성 전략별 처리량과 시퀀스 호출 수 비교
+ * 시퀀스 호출 수는 TearDown 에서 출력 (id.sequence.calls / id.generated)
+ * ./gradlew jmh -PjmhIncludes=IdGenerationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class IdGenerationBenchmark {
+
+    private static final int INSERTS_PER_OP = 100;
+
+    @Param({"pooled-lo", "thread-block", "snowflake"})
+    public String strategy;
+
+    @Param({"50", "1000"})
+    public int allocationSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private TransactionTemplate tx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("idgen",
+                "spring.jpa.properties.app.id.strategy=" + strategy,
+                "spring.jpa.properties.app.id.allocation-size=" + allocationSize);
+        em = context.getBean(EntityManager.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        IdGeneratorStats stats = IdGeneratorStats.all(context.getBean(EntityManagerFactory.class)).get("member_seq");
+        System.out.printf("%n[%s, allocationSize=%d] member ids=%d, sequence calls=%d%n",
+                strategy, allocationSize, stats.getGenerated(), stats.getSequenceCalls());
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSERTS_PER_OP)
+    public void insertMembers() {
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < INSERTS_PER_OP; i++) {
+                em.persist(new Member(BenchmarkContext.USERNAME_PREFIX + i, i));
+            }
+        });
+    }
+}
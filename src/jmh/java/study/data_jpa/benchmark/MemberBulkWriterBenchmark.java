@@ -0,0 +1,80 @@
+package study.data_jpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberBulkWriter;
+import study.data_jpa.repository.MemberRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 대량 적재 방식별 처리량 비교 (건당 save 트랜잭션 vs saveAll 한 트랜잭션 vs MemberBulkWriter)
+ * batchSize=1 이면 jdbc batch 없이 MemberBulkWriter 의 flush/clear 효과만 측정된다.
+ * ./gradlew jmh -PjmhIncludes=MemberBulkWriterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemberBulkWriterBenchmark {
+
+    private static final int ROWS_PER_OP = 10_000;
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private MemberBulkWriter memberBulkWriter;
+    private TransactionTemplate tx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("bulkwriter",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberBulkWriter = context.getBean(MemberBulkWriter.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    // 측정마다 같은 크기의 테이블에서 시작
+    @TearDown(Level.Iteration)
+    public void deleteMembers() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 건마다 트랜잭션 (개선 전 적재 방식)
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_OP)
+    public void saveEach() {
+        newMembers().forEach(memberRepository::save);
+    }
+
+    // 한 트랜잭션이지만 영속성 컨텍스트에 모두 쌓인다
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_OP)
+    public void repositorySaveAll() {
+        tx.executeWithoutResult(status -> memberRepository.saveAll(newMembers()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_OP)
+    public void bulkWriter() {
+        memberBulkWriter.saveAll(newMembers().stream());
+    }
+
+    private static List<Member> newMembers() {
+        return IntStream.range(0, ROWS_PER_OP)
+                .mapToObj(i -> new Member(BenchmarkContext.USERNAME_PREFIX + i, i % 100))
+                .toList();
+    }
+}
@@ -0,0 +1,94 @@
+package study.data_jpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberRepository;
+import study.data_jpa.support.retry.OptimisticLockRetryExecutor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * N 스레드가 같은 멤버(hot row) / 서로 다른 멤버의 나이를 증가시킬 때
+ * 비관적 락(findLockByUsername, select for update)과 @Version + 재시도 비교
+ * ./gradlew jmh -PjmhIncludes=MemberContentionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class MemberContentionBenchmark {
+
+    @Param({"1000"})
+    public int memberCount;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private OptimisticLockRetryExecutor retryExecutor;
+    private TransactionTemplate tx;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        String ownUsername;
+
+        @Setup(Level.Trial)
+        public void setUp(MemberContentionBenchmark benchmark) {
+            // 0 번은 모든 스레드가 공유하는 hot row
+            ownUsername = BenchmarkContext.USERNAME_PREFIX
+                    + (1 + benchmark.threadIds.getAndIncrement() % (benchmark.memberCount - 1));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 충돌이 많으므로 재시도 횟수를 넉넉하게
+        context = BenchmarkContext.start("contention", "app.optimistic-retry.max-attempts=100");
+        BenchmarkContext.seed(context, memberCount, 10);
+        memberRepository = context.getBean(MemberRepository.class);
+        retryExecutor = context.getBean(OptimisticLockRetryExecutor.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void pessimisticSameMember() {
+        pessimistic(BenchmarkContext.USERNAME_PREFIX + 0);
+    }
+
+    @Benchmark
+    public void optimisticSameMember() {
+        optimistic(BenchmarkContext.USERNAME_PREFIX + 0);
+    }
+
+    @Benchmark
+    public void pessimisticDifferentMembers(ThreadState state) {
+        pessimistic(state.ownUsername);
+    }
+
+    @Benchmark
+    public void optimisticDifferentMembers(ThreadState state) {
+        optimistic(state.ownUsername);
+    }
+
+    private void pessimistic(String username) {
+        tx.executeWithoutResult(status -> {
+            Member member = memberRepository.findLockByUsername(username);
+            member.setAge(member.getAge() + 1);
+        });
+    }
+
+    private void optimistic(String username) {
+        retryExecutor.run(status -> {
+            Member member = memberRepository.findMemberByUsername(username);
+            member.setAge(member.getAge() + 1);
+        });
+    }
+}
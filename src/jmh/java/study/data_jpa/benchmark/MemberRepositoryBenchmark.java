@@ -0,0 +1,113 @@
+package study.data_jpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberJpaRepository;
+import study.data_jpa.repository.MemberRepository;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 방식별 처리량/지연/할당량 비교
+ * ./gradlew jmh -PjmhIncludes=MemberRepositoryBenchmark (gc 프로파일러 기본 적용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberRepositoryBenchmark {
+
+    @Param({"1000"})
+    public int memberCount;
+
+    @Param({"10"})
+    public int teamCount;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private MemberJpaRepository memberJpaRepository;
+    private TransactionTemplate readOnlyTx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("repository");
+        BenchmarkContext.seed(context, memberCount, teamCount);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void fetchJoin(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status -> touchTeams(memberRepository.findMemberFetchJoin(), bh));
+    }
+
+    @Benchmark
+    public void entityGraph(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status -> touchTeams(memberRepository.findMemberEntityGraph(), bh));
+    }
+
+    // 지연 로딩 + 팀 접근 (N+1)
+    @Benchmark
+    public void lazyFindAll(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status -> touchTeams(memberJpaRepository.findAll(), bh));
+    }
+
+    @Benchmark
+    public void interfaceProjection(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status ->
+                memberRepository.findProjectonsByUsername(randomUsername()).forEach(p -> bh.consume(p.getUsername())));
+    }
+
+    @Benchmark
+    public void dtoProjection(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status ->
+                memberRepository.findProjectonsDtoByUsername(randomUsername()).forEach(p -> bh.consume(p.getUsername())));
+    }
+
+    @Benchmark
+    public void nativeQuery(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status -> bh.consume(memberRepository.findByNavtiveQuery(randomUsername())));
+    }
+
+    @Benchmark
+    public void jpaFindByUsername(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status -> bh.consume(memberJpaRepository.findByUsername(randomUsername())));
+    }
+
+    @Benchmark
+    public void jpaFindByAgePage(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status -> {
+            int age = ThreadLocalRandom.current().nextInt(100);
+            bh.consume(memberJpaRepository.findByAge(age, 0, 10));
+            bh.consume(memberJpaRepository.totalCount(age));
+        });
+    }
+
+    @Benchmark
+    public void jpaFindById(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status ->
+                bh.consume(memberJpaRepository.findById(ThreadLocalRandom.current().nextLong(1, memberCount))));
+    }
+
+    private String randomUsername() {
+        return BenchmarkContext.USERNAME_PREFIX + ThreadLocalRandom.current().nextInt(memberCount);
+    }
+
+    private static void touchTeams(List<Member> members, Blackhole bh) {
+        for (Member member : members) {
+            bh.consume(member.getTeam() == null ? null : member.getTeam().getName());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package study.data_jpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.repository.MemberRepository;
+import study.data_jpa.repository.NestedClosedProjections;
+import study.data_jpa.repository.UsernameOnlyDto;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * spring data 프로젝션 vs 컴파일된 프로젝션(findCompiledProjectionByUsername)
+ * ./gradlew jmh -PjmhIncludes=ProjectionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectionBenchmark {
+
+    @Param({"1000"})
+    public int memberCount;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private TransactionTemplate readOnlyTx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("projection");
+        BenchmarkContext.seed(context, memberCount, 10);
+        memberRepository = context.getBean(MemberRepository.class);
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void springDataDto(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status -> memberRepository
+                .findProjectonsDtoByUsername(randomUsername(), UsernameOnlyDto.class)
+                .forEach(dto -> bh.consume(dto.getUsername())));
+    }
+
+    @Benchmark
+    public void compiledDto(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status -> memberRepository
+                .findCompiledProjectionByUsername(randomUsername(), UsernameOnlyDto.class)
+                .forEach(dto -> bh.consume(dto.getUsername())));
+    }
+
+    @Benchmark
+    public void springDataNestedInterface(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status -> memberRepository
+                .findProjectonsDtoByUsername(randomUsername(), NestedClosedProjections.class)
+                .forEach(p -> consume(p, bh)));
+    }
+
+    @Benchmark
+    public void compiledNestedInterface(Blackhole bh) {
+        readOnlyTx.executeWithoutResult(status -> memberRepository
+                .findCompiledProjectionByUsername(randomUsername(), NestedClosedProjections.class)
+                .forEach(p -> consume(p, bh)));
+    }
+
+    private static void consume(NestedClosedProjections projection, Blackhole bh) {
+        bh.consume(projection.getUsername());
+        bh.consume(projection.getTeam().getName());
+    }
+
+    private String randomUsername() {
+        return BenchmarkContext.USERNAME_PREFIX + ThreadLocalRandom.current().nextInt(memberCount);
+    }
+}
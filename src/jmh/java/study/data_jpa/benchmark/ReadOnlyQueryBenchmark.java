@@ -0,0 +1,62 @@
+package study.data_jpa.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberJpaRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쓰기 트랜잭션 안에서 대량 조회 후 flush 할 때 read-only 조회의 힙/flush 비용 비교
+ * ./gradlew jmh -PjmhIncludes=ReadOnlyQueryBenchmark -PjmhMembers=50000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReadOnlyQueryBenchmark {
+
+    @Param({"10000"})
+    public int memberCount;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private MemberJpaRepository memberJpaRepository;
+    private TransactionTemplate tx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("readonly");
+        BenchmarkContext.seed(context, memberCount, 10);
+        em = context.getBean(EntityManager.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 스냅샷을 만들고 flush 때 전체 dirty checking
+    @Benchmark
+    public void managedReadAndFlush(Blackhole bh) {
+        tx.executeWithoutResult(status -> {
+            bh.consume(em.createQuery("select m from Member m", Member.class).getResultList());
+            em.flush();
+        });
+    }
+
+    // @ReadOnlyQuery: 스냅샷 없음, flush 대상에서 제외
+    @Benchmark
+    public void readOnlyReadAndFlush(Blackhole bh) {
+        tx.executeWithoutResult(status -> {
+            bh.consume(memberJpaRepository.findAllReadOnly());
+            em.flush();
+        });
+    }
+}
@@ -4,22 +4,28 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
-import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @SpringBootApplication
-@EnableJpaAuditing
 public class DataJpaApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(DataJpaApplication.class, args);
 	}
 
+	// AuditContext 가 요청/트랜잭션당 한 번만 호출한다 (SecureRandom 을 쓰는 randomUUID 대신 ThreadLocalRandom)
 	@Bean
 	public AuditorAware<String> auditorAware() {
-		return () -> Optional.of(UUID.randomUUID().toString());
+		return () -> {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			// version 4, IETF variant 비트를 채워서 randomUUID 와 같은 형식으로 만든다
+			long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+			long least = (random.nextLong() & ~(0xC0L << 56)) | (0x80L << 56);
+			return Optional.of(new UUID(most, least).toString());
+		};
 	}
 
 }
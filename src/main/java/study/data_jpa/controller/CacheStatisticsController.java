@@ -0,0 +1,65 @@
+package study.data_jpa.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.data_jpa.dto.CacheRegionStatsDto;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class CacheStatisticsController {
+
+    private final Statistics statistics;
+
+    public CacheStatisticsController(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @GetMapping("/cache/statistics")
+    public List<CacheRegionStatsDto> cacheStatistics() {
+        Map<String, Long> evictions = jcacheEvictions();
+        List<CacheRegionStatsDto> result = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            result.add(new CacheRegionStatsDto(region,
+                    stats.getHitCount(),
+                    stats.getMissCount(),
+                    stats.getPutCount(),
+                    evictions.getOrDefault(region, 0L),
+                    stats.getElementCountInMemory()));
+        }
+        return result;
+    }
+
+    // eviction 건수는 hibernate 통계에 없으므로 jcache statistics mbean 에서 읽는다
+    private Map<String, Long> jcacheEvictions() {
+        Map<String, Long> evictions = new HashMap<>();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                String cache = name.getKeyProperty("Cache");
+                if (cache != null && cache.startsWith("\"")) {
+                    cache = ObjectName.unquote(cache);
+                }
+                evictions.put(cache, (Long) server.getAttribute(name, "CacheEvictions"));
+            }
+        } catch (JMException e) {
+            return evictions;
+        }
+        return evictions;
+    }
+}
@@ -1,43 +1,115 @@
 package study.data_jpa.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import study.data_jpa.dto.MemberDto;
 import study.data_jpa.entity.Member;
+import study.data_jpa.repository.CursorPage;
+import study.data_jpa.repository.InvalidCursorException;
+import study.data_jpa.repository.InvalidSortException;
 import study.data_jpa.repository.MemberRepository;
+import study.data_jpa.repository.MemberStreamRepository;
+import study.data_jpa.repository.MemberVersion;
+import study.data_jpa.support.change.MemberChangeTracker;
+import study.data_jpa.support.change.MemberResponseCache;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
     private final MemberRepository memberRepository;
+    private final MemberStreamRepository memberStreamRepository;
+    private final ObjectMapper objectMapper;
+    private final MemberChangeTracker memberChangeTracker;
+    private final MemberResponseCache memberResponseCache;
 
 
+    // 버전만 조회해서 바뀌지 않았으면 엔티티 로딩 없이 304
+    // 벌크/jdbc 갱신은 수정 시각을 바꾸지 않으므로 Last-Modified 는 쓰지 않고 version 기반 ETag 만 비교한다
     @GetMapping("/members/{id}")
-    public String findMember(@PathVariable("id") Long id) {
-        Member member = memberRepository.findById(id).get();
-        return member.getUsername();
+    public String findMember(@PathVariable("id") Long id, WebRequest request) {
+        MemberVersion version = memberRepository.findVersionById(id).get();
+        String etag = memberChangeTracker.etag("member-" + id, version.getVersion());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return memberResponseCache.get(etag, () -> memberRepository.findById(id).get().getUsername());
     }
 
+    // 도메인 클래스 컨버터가 이미 엔티티를 조회하므로 304 일 때 응답 생성만 생략된다
     @GetMapping("/members2/{id}")
-    public String findMember2(@PathVariable("id") Member member) {
+    public String findMember2(@PathVariable("id") Member member, WebRequest request) {
+        if (request.checkNotModified(memberChangeTracker.etag("member-" + member.getId(), member.getVersion()))) {
+            return null;
+        }
         return member.getUsername();
     }
 
     @GetMapping("/members")
-    public Page<MemberDto> findMemeberList(@PageableDefault(size = 3,sort = "username",direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<Member> findMember = memberRepository.findAll(pageable);
-        //return findMember.map(m -> new MemberDto(m.getId(), m.getUsername(), m.getAge(), null));
+    public Page<MemberDto> findMemeberList(@PageableDefault(size = 3,sort = "username",direction = Sort.Direction.DESC) Pageable pageable,
+                                           WebRequest request) {
+        // 회원/팀이 바뀌지 않았으면 조회 없이 304, 아니면 같은 세대의 캐시된 응답 사용
+        long generation = memberChangeTracker.generation();
+        if (request.checkNotModified(memberChangeTracker.etag("members", generation))) {
+            return null;
+        }
+        // 엔티티 로딩/스냅샷 없이 dto 로 바로 조회
+        return memberResponseCache.get("members:" + pageable, generation,
+                () -> memberRepository.findMemberDtoPage(pageable));
+    }
+
+    @GetMapping("/members/scroll")
+    public CursorPage<MemberDto> scrollMemberList(@RequestParam(value = "cursor", required = false) String cursor,
+                                                  @RequestParam(value = "size", defaultValue = "3") int size,
+                                                  @RequestParam(value = "direction", defaultValue = "DESC") Sort.Direction direction) {
+        CursorPage<Member> findMember = memberRepository.findMemberKeyset(cursor, Math.max(1, Math.min(size, 100)), direction);
         return findMember.map(MemberDto::new);
     }
 
+    @GetMapping(value = "/members/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportMemberList() {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            memberStreamRepository.streamMemberDto(dto -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(dto));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    // 허용하지 않는 정렬 속성, 잘못된 커서
+    @ExceptionHandler({InvalidSortException.class, InvalidCursorException.class})
+    public ResponseEntity<String> badRequest(RuntimeException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
     @PostConstruct
     public void init() {
         for (int i = 0; i < 100; i++) {
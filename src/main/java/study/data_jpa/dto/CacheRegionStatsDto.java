@@ -0,0 +1,24 @@
+package study.data_jpa.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheRegionStatsDto {
+
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long evictionCount;
+    private long elementCountInMemory;
+
+    public CacheRegionStatsDto(String region, long hitCount, long missCount, long putCount,
+                               long evictionCount, long elementCountInMemory) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.evictionCount = evictionCount;
+        this.elementCountInMemory = elementCountInMemory;
+    }
+}
@@ -22,6 +22,6 @@ public class MemberDto {
         this.id = member.getId();
         this.username = member.getUsername();
         this.age = member.getAge();
-        this.teamname = getTeamname();
+        this.teamname = member.getTeam() == null ? null : member.getTeam().getName();
     }
 }
@@ -0,0 +1,22 @@
+package study.data_jpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class QueryStatsDto {
+
+    private String query;
+    private long executionCount;
+    private long executionRowCount;
+    private long executionAvgTime;
+    private long executionMaxTime;
+    private long executionTotalTime;
+    private long planCacheHitCount;
+    private long planCacheMissCount;
+    private double planCacheHitRate;
+    private long planCompilationTotalMicros;
+    private long queryCacheHitCount;
+    private long queryCacheMissCount;
+}
@@ -0,0 +1,22 @@
+package study.data_jpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class QueryStatsReportDto {
+
+    private boolean statisticsEnabled;
+    private long queryExecutionCount;
+    private long queryPlanCacheHitCount;
+    private long queryPlanCacheMissCount;
+    private double queryPlanCacheHitRate;
+    private long prepareStatementCount;
+    private long closeStatementCount;
+    private String slowestQuery;
+    private long slowestQueryTime;
+    private List<QueryStatsDto> queries;
+}
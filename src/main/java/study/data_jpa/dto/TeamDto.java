@@ -0,0 +1,21 @@
+package study.data_jpa.dto;
+
+import lombok.Data;
+import study.data_jpa.entity.Team;
+
+@Data
+public class TeamDto {
+
+    private Long id;
+    private String name;
+
+    public TeamDto(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public TeamDto(Team team) {
+        this.id = team.getId();
+        this.name = team.getName();
+    }
+}
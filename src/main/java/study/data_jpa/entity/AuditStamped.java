@@ -0,0 +1,13 @@
+package study.data_jpa.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * AuditStampListener 가 호출하는 등록/수정 정보 setter
+ */
+public interface AuditStamped {
+
+    void stampCreated(String auditor, LocalDateTime now);
+
+    void stampModified(String auditor, LocalDateTime now);
+}
@@ -2,23 +2,28 @@ package study.data_jpa.entity;
 
 import jakarta.persistence.*;
 import lombok.Getter;
-import org.springframework.data.annotation.CreatedBy;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.annotation.LastModifiedBy;
-import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
-@EntityListeners(AuditingEntityListener.class)
 @MappedSuperclass
 @Getter
 public class BaseEntity extends BaseTimeEntity {
 
-    @CreatedBy
     @Column(updatable = false)
     private String createdBy;
 
-    @LastModifiedBy
     private String modifiedBy;
+
+    @Override
+    public void stampCreated(String auditor, LocalDateTime now) {
+        super.stampCreated(auditor, now);
+        createdBy = auditor;
+        modifiedBy = auditor;
+    }
+
+    @Override
+    public void stampModified(String auditor, LocalDateTime now) {
+        super.stampModified(auditor, now);
+        modifiedBy = auditor;
+    }
 }
@@ -4,21 +4,28 @@ import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import study.data_jpa.support.audit.AuditStampListener;
 
 import java.time.LocalDateTime;
 
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners(AuditStampListener.class)
 @MappedSuperclass
 @Getter
-public class BaseTimeEntity {
+public class BaseTimeEntity implements AuditStamped {
 
-    @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdDate;
 
-    @LastModifiedDate
     private LocalDateTime modifiedDate;
+
+    @Override
+    public void stampCreated(String auditor, LocalDateTime now) {
+        createdDate = now;
+        modifiedDate = now;
+    }
+
+    @Override
+    public void stampModified(String auditor, LocalDateTime now) {
+        modifiedDate = now;
+    }
 }
@@ -7,16 +7,15 @@ import jakarta.persistence.Id;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.domain.Persistable;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import study.data_jpa.support.audit.AuditStampListener;
 
 import java.time.LocalDateTime;
 
 @Entity
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@EntityListeners(AuditingEntityListener.class)
-public class Item implements Persistable<String> {
+@EntityListeners(AuditStampListener.class)
+public class Item implements Persistable<String>, AuditStamped {
 
 //    @Id
 //    @GeneratedValue
@@ -25,7 +24,6 @@ public class Item implements Persistable<String> {
     @Id
     private String id;
 
-    @CreatedDate
     private LocalDateTime createdDate;
 
     public Item(String id) {
@@ -37,8 +35,21 @@ public class Item implements Persistable<String> {
         return id;
     }
 
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
     @Override
     public boolean isNew() {
         return createdDate == null;
     }
+
+    @Override
+    public void stampCreated(String auditor, LocalDateTime now) {
+        createdDate = now;
+    }
+
+    @Override
+    public void stampModified(String auditor, LocalDateTime now) {
+    }
 }
@@ -1,30 +1,30 @@
 package study.data_jpa.entity;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
-import jakarta.persistence.PrePersist;
-import jakarta.persistence.PreUpdate;
 import lombok.Getter;
+import study.data_jpa.support.audit.AuditStampListener;
 
 import java.time.LocalDateTime;
 
+@EntityListeners(AuditStampListener.class)
 @MappedSuperclass
 @Getter
-public class JpaBaseEntity {
+public class JpaBaseEntity implements AuditStamped {
 
     @Column(updatable = false)
     private LocalDateTime createdDate;
     private LocalDateTime updatedDate;
 
-    @PrePersist
-    public void prePersist() {
-        LocalDateTime now = LocalDateTime.now();
+    @Override
+    public void stampCreated(String auditor, LocalDateTime now) {
         createdDate = now;
         updatedDate = now;
     }
 
-    @PreUpdate
-    public void preUpdate() {
-        updatedDate = LocalDateTime.now();
+    @Override
+    public void stampModified(String auditor, LocalDateTime now) {
+        updatedDate = now;
     }
 }
@@ -2,26 +2,38 @@ package study.data_jpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.NamedQuery;
+import study.data_jpa.support.id.ConfigurableSequence;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
+@Table(indexes = @Index(name = "idx_member_username_id", columnList = "username, member_id"))
 @NamedQuery(
         name = "Member.findByUsername",
-        query = "select m from Member m where m.username = :username"
+        query = "select m from Member m where m.username = :username",
+        cacheable = true
 )
 public class Member extends BaseEntity {
 //public class Member extends JpaBaseEntity {
     @Id
-    @GeneratedValue
+    @ConfigurableSequence(name = "member_seq")
     @Column(name = "member_id")
     private Long id;
     private String username;
     private int age;
 
+    // 낙관적 락 (벌크 update 는 "update versioned" 로 함께 증가시킨다)
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
@@ -2,11 +2,17 @@ package study.data_jpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
+import study.data_jpa.support.id.ConfigurableSequence;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -14,11 +20,18 @@ import java.util.List;
 public class Team {
 
     @Id
-    @GeneratedValue
+    @ConfigurableSequence(name = "team_seq")
     @Column(name = "team_id")
     private Long id;
     private String name;
 
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
+    // 멤버 추가/이동으로 팀 버전이 올라가서 팀 수정과 충돌하지 않도록 제외
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
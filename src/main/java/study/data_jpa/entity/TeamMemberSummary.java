@@ -0,0 +1,30 @@
+package study.data_jpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 팀별 회원 수/나이 합계 요약 (member 변경 시 TeamMemberSummaryListener 가 증분 갱신)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class TeamMemberSummary {
+
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+    private String teamName;
+    private long memberCount;
+    private long ageSum;
+
+    public double getAverageAge() {
+        return memberCount == 0 ? 0 : (double) ageSum / memberCount;
+    }
+}
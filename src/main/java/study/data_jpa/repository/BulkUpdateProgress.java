@@ -0,0 +1,27 @@
+package study.data_jpa.repository;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 청크 단위 벌크 업데이트 진행 상황
+ * lastProcessedId 를 저장해 두면 중단된 지점부터 다시 실행할 수 있다.
+ */
+@Getter
+@ToString
+public class BulkUpdateProgress {
+
+    private final int chunks;
+    private final long updatedRows;
+    private final Long lastProcessedId;
+    private final boolean completed;
+    private final long elapsedMillis;
+
+    public BulkUpdateProgress(int chunks, long updatedRows, Long lastProcessedId, boolean completed, long elapsedMillis) {
+        this.chunks = chunks;
+        this.updatedRows = updatedRows;
+        this.lastProcessedId = lastProcessedId;
+        this.completed = completed;
+        this.elapsedMillis = elapsedMillis;
+    }
+}
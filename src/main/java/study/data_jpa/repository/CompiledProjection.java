@@ -0,0 +1,32 @@
+package study.data_jpa.repository;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 프로젝션 타입별로 한 번만 만들어 두는 select 절 + row 매퍼
+ */
+public class CompiledProjection<T> {
+
+    private final List<String> selections;
+    private final List<String> joins;
+    private final Function<Object[], T> mapper;
+
+    CompiledProjection(List<String> selections, List<String> joins, Function<Object[], T> mapper) {
+        this.selections = selections;
+        this.joins = joins;
+        this.mapper = mapper;
+    }
+
+    public String selectClause() {
+        return String.join(", ", selections);
+    }
+
+    public String joinClause() {
+        return joins.isEmpty() ? "" : " " + String.join(" ", joins);
+    }
+
+    public T map(Object row) {
+        return mapper.apply(row instanceof Object[] values ? values : new Object[]{row});
+    }
+}
@@ -0,0 +1,25 @@
+package study.data_jpa.repository;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public CursorPage(List<T> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public <U> CursorPage<U> map(Function<? super T, ? extends U> converter) {
+        List<U> converted = content.stream().<U>map(converter).toList();
+        return new CursorPage<>(converted, nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,11 @@
+package study.data_jpa.repository;
+
+/**
+ * 디코딩할 수 없는 keyset 커서 토큰
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
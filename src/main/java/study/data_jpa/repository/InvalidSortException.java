@@ -0,0 +1,12 @@
+package study.data_jpa.repository;
+
+/**
+ * 허용하지 않는 정렬 속성
+ * IllegalArgumentException 을 상속하면 리포지토리 프록시가 InvalidDataAccessApiUsageException 으로 바꾸므로 RuntimeException 을 상속한다.
+ */
+public class InvalidSortException extends RuntimeException {
+
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
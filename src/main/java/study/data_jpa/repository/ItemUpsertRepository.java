@@ -0,0 +1,12 @@
+package study.data_jpa.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.entity.Item;
+
+import java.util.Collection;
+
+public interface ItemUpsertRepository {
+
+    @Transactional
+    int upsertAll(Collection<Item> items);
+}
@@ -0,0 +1,56 @@
+package study.data_jpa.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.entity.Item;
+import study.data_jpa.support.audit.AuditContext;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public class ItemUpsertRepositoryImpl extends JdbcUpsertSupport<Item> implements ItemUpsertRepository {
+
+    private final AuditContext auditContext;
+
+    public ItemUpsertRepositoryImpl(JdbcTemplate jdbcTemplate, AuditContext auditContext,
+                                    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        super(jdbcTemplate, batchSize);
+        this.auditContext = auditContext;
+    }
+
+    // 이미 있는 item 은 그대로 두므로 같은 데이터를 여러 번 적재해도 결과가 같다
+    @Override
+    @Transactional
+    public int upsertAll(Collection<Item> items) {
+        return super.upsertAll(items);
+    }
+
+    @Override
+    protected String tableName() {
+        return "item";
+    }
+
+    @Override
+    protected String idColumn() {
+        return "id";
+    }
+
+    @Override
+    protected List<String> columns() {
+        return List.of("id", "created_date");
+    }
+
+    @Override
+    protected void bind(PreparedStatement ps, Item item) throws SQLException {
+        // 엔티티 리스너와 같은 시각 (트랜잭션 안에서는 한 번의 upsertAll 이 같은 시각을 공유)
+        LocalDateTime createdDate = item.getCreatedDate() != null
+                ? item.getCreatedDate() : auditContext.current().getTimestamp();
+        ps.setString(1, item.getId());
+        ps.setTimestamp(2, Timestamp.valueOf(createdDate));
+    }
+}
@@ -0,0 +1,9 @@
+package study.data_jpa.repository;
+
+import org.springframework.data.domain.Pageable;
+import study.data_jpa.entity.Member;
+
+public interface MemberAdaptiveCountRepository {
+
+    EstimatedPage<Member> findByAgeAdaptive(int age, Pageable pageable);
+}
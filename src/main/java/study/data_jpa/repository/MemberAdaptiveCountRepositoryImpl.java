@@ -0,0 +1,108 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import study.data_jpa.entity.Member;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class MemberAdaptiveCountRepositoryImpl implements MemberAdaptiveCountRepository {
+
+    private final EntityManager em;
+    private final long countTtlNanos;
+    private final Map<Integer, CachedCount> countCache = new ConcurrentHashMap<>();
+
+    public MemberAdaptiveCountRepositoryImpl(EntityManager em,
+                                             @Value("${app.paging.count-ttl:30s}") Duration countTtl) {
+        this.em = em;
+        this.countTtlNanos = countTtl.toNanos();
+    }
+
+    @Override
+    public EstimatedPage<Member> findByAgeAdaptive(int age, Pageable pageable) {
+        CachedCount cached = countCache.get(age);
+        if (cached == null || cached.isExpired(countTtlNanos)) {
+            return findWithWindowCount(age, pageable);
+        }
+
+        List<Member> content = paging(em.createQuery(
+                QueryUtils.applySorting("select m from Member m where m.age = :age", pageable.getSort(), "m"), Member.class)
+                .setParameter("age", age), pageable)
+                .getResultList();
+
+        // 마지막 페이지라서 덜 찼으면 count 쿼리 없이도 전체 건수가 정확하다
+        if (isLastPage(content, pageable)) {
+            long total = offset(pageable) + content.size();
+            countCache.put(age, new CachedCount(total));
+            return new EstimatedPage<>(content, pageable, total, true);
+        }
+        if (content.isEmpty()) {
+            return new EstimatedPage<>(content, pageable, exactCount(age), true);
+        }
+        long estimated = Math.max(cached.total, offset(pageable) + content.size());
+        return new EstimatedPage<>(content, pageable, estimated, false);
+    }
+
+    // 캐시가 없으면 count(*) over() 로 본문과 전체 건수를 한 번에 조회
+    private EstimatedPage<Member> findWithWindowCount(int age, Pageable pageable) {
+        List<Object[]> rows = paging(em.createQuery(
+                QueryUtils.applySorting("select m, count(*) over () from Member m where m.age = :age", pageable.getSort(), "m"), Object[].class)
+                .setParameter("age", age), pageable)
+                .getResultList();
+
+        long total = rows.isEmpty() ? exactCount(age) : (Long) rows.get(0)[1];
+        countCache.put(age, new CachedCount(total));
+
+        List<Member> content = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            content.add((Member) row[0]);
+        }
+        return new EstimatedPage<>(content, pageable, total, true);
+    }
+
+    private long exactCount(int age) {
+        return em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                .setParameter("age", age)
+                .getSingleResult();
+    }
+
+    private static <T> TypedQuery<T> paging(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+
+    private static boolean isLastPage(List<?> content, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return true;
+        }
+        return content.size() < pageable.getPageSize() && (!content.isEmpty() || pageable.getOffset() == 0);
+    }
+
+    private static long offset(Pageable pageable) {
+        return pageable.isPaged() ? pageable.getOffset() : 0;
+    }
+
+    private static class CachedCount {
+
+        private final long total;
+        private final long cachedAt = System.nanoTime();
+
+        CachedCount(long total) {
+            this.total = total;
+        }
+
+        boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - cachedAt > ttlNanos;
+        }
+    }
+}
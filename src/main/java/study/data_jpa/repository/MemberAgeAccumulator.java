@@ -0,0 +1,231 @@
+package study.data_jpa.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.dto.MemberDto;
+import study.data_jpa.entity.Member;
+import study.data_jpa.support.change.MemberChangeTracker;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 멤버 나이 증가 write-behind
+ * 증가분은 멤버별 LongAdder 에 합산해 두었다가 주기적으로 한 트랜잭션의 jdbc batch
+ * (update member set age = age + ?, version = version + 1) 로 반영한다.
+ * 같은 row 를 매번 조회-수정-커밋하는 대신 row 락을 flush 주기에 한 번만 잡는다.
+ * 반영 전 증가분은 프로세스가 비정상 종료되면 유실된다. (정상 종료 시에는 flush)
+ */
+@Slf4j
+@Repository
+public class MemberAgeAccumulator {
+
+    private static final String UPDATE_MEMBER =
+            "update member set age = age + ?, version = version + 1 where member_id = ?";
+    private static final String UPDATE_SUMMARY =
+            "update team_member_summary set age_sum = age_sum + ?" +
+                    " where team_id = (select m.team_id from member m where m.member_id = ?)";
+
+    private final MemberRepository memberRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory emf;
+    private final PlatformTransactionManager transactionManager;
+    private final MemberChangeTracker memberChangeTracker;
+    private final Duration maxLag;
+    private final int maxPendingMembers;
+
+    // add 는 읽기 락을 잡고 더하고, flush 는 쓰기 락을 잡고 맵을 통째로 바꾸므로 꺼내 간 뒤 더해지는 증가분이 없다
+    private volatile ConcurrentHashMap<Long, LongAdder> cells = new ConcurrentHashMap<>();
+    // 반영 중(커밋 전)인 증가분, 조회 시 db 값에 더한다
+    private final Map<Long, Long> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock visibility = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong oldestPendingNanos = new AtomicLong(Long.MAX_VALUE);
+
+    private final Counter flushes;
+    private final Counter failures;
+    private final TransactionTemplate readOnlyTx;
+
+    public MemberAgeAccumulator(MemberRepository memberRepository,
+                                JdbcTemplate jdbcTemplate,
+                                EntityManagerFactory emf,
+                                PlatformTransactionManager transactionManager,
+                                MemberChangeTracker memberChangeTracker,
+                                MeterRegistry registry,
+                                @Value("${app.age-accumulator.max-lag:1s}") Duration maxLag,
+                                @Value("${app.age-accumulator.max-pending-members:10000}") int maxPendingMembers) {
+        this.memberRepository = memberRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.emf = emf;
+        this.transactionManager = transactionManager;
+        this.memberChangeTracker = memberChangeTracker;
+        this.maxLag = maxLag;
+        this.maxPendingMembers = maxPendingMembers;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        Gauge.builder("member-age-accumulator.pending", this, accumulator -> accumulator.cells.size()).register(registry);
+        this.flushes = Counter.builder("member-age-accumulator.flushes").register(registry);
+        this.failures = Counter.builder("member-age-accumulator.failures").register(registry);
+    }
+
+    public void add(Long memberId, int delta) {
+        visibility.readLock().lock();
+        try {
+            cells.computeIfAbsent(memberId, id -> new LongAdder()).add(delta);
+            oldestPendingNanos.compareAndSet(Long.MAX_VALUE, System.nanoTime());
+        } finally {
+            visibility.readLock().unlock();
+        }
+
+        // 스케줄러가 밀리거나 쌓인 멤버가 많으면 호출 스레드에서 반영 (이미 flush 중이면 건너뜀)
+        // 호출한 쪽 트랜잭션이 같은 row 락을 잡고 있을 수 있으므로 트랜잭션 안에서는 스케줄러에 맡긴다
+        if ((cells.size() > maxPendingMembers || lagExceeded())
+                && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            if (flushLock.tryLock()) {
+                try {
+                    doFlush();
+                } finally {
+                    flushLock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * db 값에 아직 반영되지 않은 증가분을 더한 dto 를 반환
+     * 호출한 쪽 영속성 컨텍스트의 엔티티는 건드리지 않는다.
+     */
+    public Optional<MemberDto> findById(Long memberId) {
+        visibility.readLock().lock();
+        try {
+            return readOnlyTx.execute(status -> memberRepository.findById(memberId).map(member -> {
+                MemberDto dto = new MemberDto(member);
+                dto.setAge((int) (member.getAge() + pending(memberId)));
+                return dto;
+            }));
+        } finally {
+            visibility.readLock().unlock();
+        }
+    }
+
+    public long pending(Long memberId) {
+        LongAdder cell = cells.get(memberId);
+        return (cell == null ? 0L : cell.sum()) + inFlight.getOrDefault(memberId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${app.age-accumulator.max-lag:1s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!cells.isEmpty()) {
+            log.error("member age deltas not flushed on shutdown. members={}", cells.size());
+        }
+    }
+
+    private void doFlush() {
+        Map<Long, Long> drained = drain();
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>(drained.size());
+        drained.forEach((memberId, delta) -> args.add(new Object[]{delta, memberId}));
+
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        TransactionStatus status = transactionManager.getTransaction(definition);
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_MEMBER, args);
+            jdbcTemplate.batchUpdate(UPDATE_SUMMARY, args);
+        } catch (RuntimeException e) {
+            transactionManager.rollback(status);
+            restore(drained, e);
+            return;
+        }
+
+        // 커밋과 inFlight 정리 사이에 조회가 끼어들면 증가분이 두 번 더해지므로 조회를 잠시 막는다
+        visibility.writeLock().lock();
+        try {
+            transactionManager.commit(status);
+            drained.keySet().forEach(memberId -> emf.getCache().evict(Member.class, memberId));
+            memberChangeTracker.changed();
+            inFlight.clear();
+            flushes.increment();
+        } catch (RuntimeException e) {
+            restore(drained, e);
+        } finally {
+            visibility.writeLock().unlock();
+        }
+    }
+
+    // 새 맵으로 바꾸고 이전 맵의 증가분을 inFlight 로 옮긴다
+    private Map<Long, Long> drain() {
+        visibility.writeLock().lock();
+        try {
+            Map<Long, LongAdder> swapped = cells;
+            cells = new ConcurrentHashMap<>();
+            Map<Long, Long> drained = new HashMap<>();
+            swapped.forEach((memberId, cell) -> {
+                long delta = cell.sum();
+                if (delta != 0) {
+                    drained.put(memberId, delta);
+                }
+            });
+            inFlight.putAll(drained);
+            oldestPendingNanos.set(Long.MAX_VALUE);
+            return drained;
+        } finally {
+            visibility.writeLock().unlock();
+        }
+    }
+
+    // 실패한 증가분은 다음 flush 에서 다시 시도
+    private void restore(Map<Long, Long> drained, RuntimeException e) {
+        failures.increment();
+        log.warn("member age flush failed, retry next time. members={}", drained.size(), e);
+        visibility.writeLock().lock();
+        try {
+            drained.forEach((memberId, delta) -> cells.computeIfAbsent(memberId, id -> new LongAdder()).add(delta));
+            inFlight.clear();
+            oldestPendingNanos.compareAndSet(Long.MAX_VALUE, System.nanoTime());
+        } finally {
+            visibility.writeLock().unlock();
+        }
+    }
+
+    private boolean lagExceeded() {
+        long oldest = oldestPendingNanos.get();
+        return oldest != Long.MAX_VALUE && System.nanoTime() - oldest > maxLag.toNanos() * 2;
+    }
+}
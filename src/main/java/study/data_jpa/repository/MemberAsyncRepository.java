@@ -0,0 +1,109 @@
+package study.data_jpa.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.dto.MemberDto;
+import study.data_jpa.dto.TeamDto;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * MemberRepository / TeamRepository 비동기 조회
+ * 호출마다 전용 스레드 풀에서 각자의 readOnly 트랜잭션(커넥션)으로 실행하므로
+ * 한 요청 안의 서로 독립적인 조회를 병렬로 실행할 수 있다.
+ * 스레드 수는 커넥션 풀 크기로 제한하고, 큐가 차면 실패한 future 를 반환한다.
+ * (호출 스레드에서 실행하면 호출자의 트랜잭션/커넥션과 섞이고 요청 스레드가 막힌다)
+ * 트랜잭션이 끝난 뒤 반환되므로 find* 는 dto 로 반환한다.
+ * withMembers/withTeams 로 엔티티를 반환하면 준영속 상태이고, 지연 로딩이 필요한 값은 함수 안에서 꺼내야 한다.
+ */
+@Repository
+public class MemberAsyncRepository {
+
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate readOnlyTx;
+
+    // Executor 빈으로 등록하면 스프링 부트 기본 applicationTaskExecutor(mvc 비동기 등)가 등록되지 않으므로 직접 소유한다
+    public MemberAsyncRepository(MemberRepository memberRepository, TeamRepository teamRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.async-repository.pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+                                 @Value("${app.async-repository.queue-capacity:100}") int queueCapacity) {
+        this.memberRepository = memberRepository;
+        this.teamRepository = teamRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        // 어느 스레드에서 실행되든 호출자 트랜잭션에 참여하지 않는다
+        this.readOnlyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("repository-async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public <T> CompletableFuture<T> withMembers(Function<MemberRepository, T> query) {
+        return supply(() -> query.apply(memberRepository));
+    }
+
+    public <T> CompletableFuture<T> withTeams(Function<TeamRepository, T> query) {
+        return supply(() -> query.apply(teamRepository));
+    }
+
+    public CompletableFuture<Optional<MemberDto>> findMemberDto(Long id) {
+        return withMembers(repository -> repository.findById(id).map(MemberAsyncRepository::toDto));
+    }
+
+    public CompletableFuture<Optional<TeamDto>> findTeam(Long id) {
+        return withTeams(repository -> repository.findById(id).map(TeamDto::new));
+    }
+
+    public CompletableFuture<Page<MemberDto>> findByAge(int age, Pageable pageable) {
+        return withMembers(repository -> repository.findByAge(age, pageable).map(MemberAsyncRepository::toDto));
+    }
+
+    public CompletableFuture<List<MemberDto>> findByUsername(String username) {
+        return withMembers(repository -> repository.findByUsername(username).stream()
+                .map(MemberAsyncRepository::toDto)
+                .toList());
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> query) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readOnlyTx.execute(status -> query.get()), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 트랜잭션 안에서 팀 이름까지 꺼낸다
+    private static MemberDto toDto(Member member) {
+        Team team = member.getTeam();
+        return new MemberDto(member.getId(), member.getUsername(), member.getAge(), team == null ? null : team.getName());
+    }
+}
@@ -0,0 +1,206 @@
+package study.data_jpa.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.support.change.MemberChangeTracker;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * bulkAgePlus 의 청크 버전
+ * member_id 순서로 chunkSize 건씩 잘라서 청크마다 별도 트랜잭션으로 커밋한다.
+ * 쓰기 중인 트랜잭션 안에서 호출하면 같은 row 락을 기다릴 수 있으므로 트랜잭션 밖에서 호출한다.
+ * 실제로 바뀐 회원만 2차 캐시와 호출한 쪽 영속성 컨텍스트(OSIV 등)에서 제거한다.
+ */
+@Slf4j
+@Repository
+public class MemberBulkAgeUpdater {
+
+    // age 는 캐시되는 쿼리(Member.findByUsername)의 조건이 아니므로 member 테이블 대신 별도 query space 로 등록한다.
+    // member 로 등록하면 Member 리전 전체가 비워진다.
+    private static final String AGE_QUERY_SPACE = "member_age";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final EntityManagerFactory emf;
+    private final TeamMemberSummaryRepository teamMemberSummaryRepository;
+    private final MemberChangeTracker memberChangeTracker;
+    private final TransactionTemplate chunkTx;
+    private final int chunkSize;
+    private final Duration pause;
+    private final int queryTimeoutMillis;
+
+    private final Counter chunks;
+    private final Counter rows;
+    private final AtomicLong lastProcessedId = new AtomicLong();
+
+    public MemberBulkAgeUpdater(EntityManagerFactory emf,
+                                TeamMemberSummaryRepository teamMemberSummaryRepository,
+                                MemberChangeTracker memberChangeTracker,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry registry,
+                                @Value("${app.bulk-update.chunk-size:1000}") int chunkSize,
+                                @Value("${app.bulk-update.pause:0ms}") Duration pause,
+                                @Value("${app.bulk-update.query-timeout:5s}") Duration queryTimeout) {
+        this.emf = emf;
+        this.teamMemberSummaryRepository = teamMemberSummaryRepository;
+        this.memberChangeTracker = memberChangeTracker;
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        this.chunkTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.queryTimeoutMillis = (int) queryTimeout.toMillis();
+        this.chunks = Counter.builder("member-bulk-update.chunks").register(registry);
+        this.rows = Counter.builder("member-bulk-update.rows").register(registry);
+        Gauge.builder("member-bulk-update.last-processed-id", lastProcessedId, AtomicLong::get).register(registry);
+    }
+
+    public BulkUpdateProgress bulkAgePlus(int age) {
+        return bulkAgePlus(age, null, progress -> {
+        });
+    }
+
+    /**
+     * @param resumeAfterId 이전 실행의 lastProcessedId (처음부터면 null)
+     */
+    public BulkUpdateProgress bulkAgePlus(int age, Long resumeAfterId, Consumer<BulkUpdateProgress> listener) {
+        long start = System.currentTimeMillis();
+        Long lastId = resumeAfterId;
+        int chunkCount = 0;
+        long updatedRows = 0;
+
+        while (true) {
+            Long from = lastId;
+            Long to = chunkTx.execute(status -> nextChunkEnd(from));
+            if (to == null) {
+                break;
+            }
+
+            long fromId = from == null ? Long.MIN_VALUE : from;
+            List<Long> updated = chunkTx.execute(status -> updateChunk(age, fromId, to));
+            evictAffected(updated);
+
+            lastId = to;
+            chunkCount++;
+            updatedRows += updated.size();
+            chunks.increment();
+            rows.increment(updated.size());
+            lastProcessedId.set(to);
+            BulkUpdateProgress progress = new BulkUpdateProgress(chunkCount, updatedRows, lastId, false,
+                    System.currentTimeMillis() - start);
+            log.debug("bulkAgePlus progress {}", progress);
+            listener.accept(progress);
+            sleepBetweenChunks();
+        }
+
+        BulkUpdateProgress result = new BulkUpdateProgress(chunkCount, updatedRows, lastId, true,
+                System.currentTimeMillis() - start);
+        log.info("bulkAgePlus finished {}", result);
+        listener.accept(result);
+        return result;
+    }
+
+    // 바뀔 회원을 먼저 잠가서 id 를 모으고, 그 id 만 갱신한다
+    @SuppressWarnings("unchecked")
+    private List<Long> updateChunk(int age, long fromId, long to) {
+        List<Long> ids = ((List<Number>) em.createNativeQuery("select member_id from member" +
+                        " where member_id > :from and member_id <= :to and age > :age" +
+                        " for update")
+                .setParameter("from", fromId)
+                .setParameter("to", to)
+                .setParameter("age", age)
+                .setHint("jakarta.persistence.query.timeout", queryTimeoutMillis)
+                .getResultList())
+                .stream()
+                .map(Number::longValue)
+                .toList();
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        teamMemberSummaryRepository.applyBulkAgePlus(age, fromId, to);
+        memberChangeTracker.changedAfterCommit();
+        em.createNativeQuery("update member set age = age + 1, version = version + 1" +
+                        " where member_id in (:ids)")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(AGE_QUERY_SPACE)
+                .setParameter("ids", ids)
+                .setHint("jakarta.persistence.query.timeout", queryTimeoutMillis)
+                .executeUpdate();
+        return ids;
+    }
+
+    // 커밋 후 바뀐 회원만 2차 캐시와 호출한 쪽 영속성 컨텍스트에서 제거
+    private void evictAffected(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        ids.forEach(id -> emf.getCache().evict(Member.class, id));
+
+        // 트랜잭션 밖이어도 OSIV 등으로 묶인 영속성 컨텍스트가 있으면 그 안의 회원을 분리한다
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(emf);
+        if (holder == null) {
+            return;
+        }
+        Set<Long> affected = new HashSet<>(ids);
+        EntityManager callerEm = holder.getEntityManager();
+        SessionImplementor session = callerEm.unwrap(SessionImplementor.class);
+        for (Map.Entry<Object, EntityEntry> entry : session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+            if (entry.getKey() instanceof Member member && affected.contains(member.getId())) {
+                callerEm.detach(member);
+            }
+        }
+    }
+
+    // pk 인덱스만 타도록 id 기준 keyset 으로 청크 끝을 찾는다 (id 가 듬성듬성해도 청크 크기 유지)
+    private Long nextChunkEnd(Long lastId) {
+        List<Long> ids = em.createQuery("select m.id from Member m" +
+                        " where m.id > :lastId" +
+                        " order by m.id", Long.class)
+                .setParameter("lastId", lastId == null ? Long.MIN_VALUE : lastId)
+                .setFirstResult(chunkSize - 1)
+                .setMaxResults(1)
+                .getResultList();
+        if (!ids.isEmpty()) {
+            return ids.get(0);
+        }
+        return em.createQuery("select max(m.id) from Member m where m.id > :lastId", Long.class)
+                .setParameter("lastId", lastId == null ? Long.MIN_VALUE : lastId)
+                .getSingleResult();
+    }
+
+    private void sleepBetweenChunks() {
+        if (pause.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("bulk update interrupted", e);
+        }
+    }
+}
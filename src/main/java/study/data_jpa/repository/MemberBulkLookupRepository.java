@@ -0,0 +1,13 @@
+package study.data_jpa.repository;
+
+import study.data_jpa.entity.Member;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MemberBulkLookupRepository {
+
+    List<Member> findAllByIdInOrder(Collection<Long> ids);
+
+    List<Member> findAllByUsernameInOrder(Collection<String> usernames);
+}
@@ -0,0 +1,72 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import study.data_jpa.entity.Member;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 다건 조회
+ * in 절 파라미터는 hibernate.query.in_clause_parameter_padding 으로 2의 거듭제곱 개수로 맞춰서
+ * 쿼리 문자열 종류를 줄이고, max-in-list 단위로 잘라서 드라이버 한도를 넘지 않게 한다.
+ */
+public class MemberBulkLookupRepositoryImpl implements MemberBulkLookupRepository {
+
+    private final EntityManager em;
+    private final int maxInList;
+
+    public MemberBulkLookupRepositoryImpl(EntityManager em,
+                                          @Value("${app.lookup.max-in-list:512}") int maxInList) {
+        this.em = em;
+        this.maxInList = maxInList;
+    }
+
+    // 영속성 컨텍스트에 이미 있는 id 는 쿼리하지 않고, 입력 순서대로 반환 (없는 id 는 제외)
+    @Override
+    public List<Member> findAllByIdInOrder(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Member> members = em.unwrap(Session.class)
+                .byMultipleIds(Member.class)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(true)
+                .withBatchSize(maxInList)
+                .multiLoad(new ArrayList<>(ids));
+        return members.stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 같은 username 이 여러 명이면 입력 순서 안에서 함께 반환
+    @Override
+    public List<Member> findAllByUsernameInOrder(Collection<String> usernames) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(usernames));
+        Map<String, List<Member>> byUsername = new LinkedHashMap<>();
+        for (String username : distinct) {
+            byUsername.put(username, new ArrayList<>());
+        }
+
+        for (int from = 0; from < distinct.size(); from += maxInList) {
+            List<String> chunk = distinct.subList(from, Math.min(from + maxInList, distinct.size()));
+            List<Member> members = em.createQuery("select m from Member m where m.username in :usernames", Member.class)
+                    .setParameter("usernames", chunk)
+                    .getResultList();
+            for (Member member : members) {
+                byUsername.get(member.getUsername()).add(member);
+            }
+        }
+
+        List<Member> result = new ArrayList<>();
+        byUsername.values().forEach(result::addAll);
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 대량 적재용 저장소
+ * jdbc batch_size 단위로 flush/clear 해서 영속성 컨텍스트가 커지지 않도록 한다.
+ * clear 가 호출한 쪽 엔티티까지 분리하지 않도록 항상 별도 트랜잭션(REQUIRES_NEW)으로 커밋한다.
+ * 바깥 트랜잭션이 롤백되어도 적재한 데이터는 남고, 적재한 엔티티는 반환 후 준영속 상태다.
+ */
+@Repository
+public class MemberBulkWriter {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final int batchSize;
+
+    public MemberBulkWriter(@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long saveAll(Stream<Member> members) {
+        return persistInBatches(members);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long saveAllTeams(Stream<Team> teams) {
+        return persistInBatches(teams);
+    }
+
+    private long persistInBatches(Stream<?> entities) {
+        long count = 0;
+        Iterator<?> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            em.persist(iterator.next());
+            if (++count % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+}
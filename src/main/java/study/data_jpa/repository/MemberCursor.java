@@ -0,0 +1,51 @@
+package study.data_jpa.repository;
+
+import lombok.Getter;
+import study.data_jpa.entity.Member;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * keyset 페이징의 마지막 위치 (username, member_id)
+ * 클라이언트에는 base64 토큰으로만 노출한다.
+ * 토큰 형식: "{id}:{username}", username 이 null 이면 "{id}~" ("null" 이라는 이름과 구분)
+ */
+@Getter
+public class MemberCursor {
+
+    private static final String NULL_USERNAME = "~";
+
+    private final String username;
+    private final Long id;
+
+    public MemberCursor(String username, Long id) {
+        this.username = username;
+        this.id = id;
+    }
+
+    public static MemberCursor of(Member member) {
+        return new MemberCursor(member.getUsername(), member.getId());
+    }
+
+    public String encode() {
+        String raw = username == null ? id + NULL_USERNAME : id + ":" + username;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MemberCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (raw.endsWith(NULL_USERNAME) && raw.indexOf(':') < 0) {
+                return new MemberCursor(null, Long.valueOf(raw.substring(0, raw.length() - 1)));
+            }
+            int separator = raw.indexOf(':');
+            return new MemberCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("invalid cursor: " + token, e);
+        }
+    }
+}
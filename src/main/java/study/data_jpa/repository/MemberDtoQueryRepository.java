@@ -0,0 +1,14 @@
+package study.data_jpa.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import study.data_jpa.dto.MemberDto;
+
+public interface MemberDtoQueryRepository {
+
+    /**
+     * 엔티티를 로딩하지 않고 MemberDto 로 바로 조회
+     * 정렬 가능 속성: id, username, age, teamname
+     */
+    Page<MemberDto> findMemberDtoPage(Pageable pageable);
+}
@@ -0,0 +1,73 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import study.data_jpa.dto.MemberDto;
+
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class MemberDtoQueryRepositoryImpl implements MemberDtoQueryRepository {
+
+    // 정렬 속성 -> jpql 경로 (그 외 속성은 허용하지 않는다)
+    private static final Map<String, String> SORT_PATHS = Map.of(
+            "id", "m.id",
+            "username", "m.username",
+            "age", "m.age",
+            "teamname", "t.name");
+
+    private final EntityManager em;
+
+    @Override
+    public Page<MemberDto> findMemberDtoPage(Pageable pageable) {
+        TypedQuery<MemberDto> query = em.createQuery(
+                "select new study.data_jpa.dto.MemberDto(m.id, m.username, m.age, t.name)" +
+                        " from Member m left join m.team t" +
+                        orderBy(pageable.getSort()), MemberDto.class);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<MemberDto> content = query.getResultList();
+
+        // 첫 페이지가 덜 찼거나 마지막 페이지면 count 쿼리 생략
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> em.createQuery("select count(m) from Member m", Long.class).getSingleResult());
+    }
+
+    // 같은 값이 많을 때 페이지 사이에 중복/누락이 없도록 마지막에 id 로 정렬
+    private static String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder();
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            String path = SORT_PATHS.get(order.getProperty());
+            if (path == null) {
+                throw new InvalidSortException("unsupported sort property: " + order.getProperty() +
+                        " (allowed: " + SORT_PATHS.keySet() + ")");
+            }
+            hasId |= path.equals("m.id");
+            orderBy.append(orderBy.isEmpty() ? " order by " : ", ")
+                    .append(path)
+                    .append(order.isAscending() ? " asc" : " desc")
+                    .append(nulls(order.getNullHandling()));
+        }
+        if (!hasId) {
+            orderBy.append(orderBy.isEmpty() ? " order by " : ", ").append("m.id asc");
+        }
+        return orderBy.toString();
+    }
+
+    private static String nulls(Sort.NullHandling nullHandling) {
+        return switch (nullHandling) {
+            case NULLS_FIRST -> " nulls first";
+            case NULLS_LAST -> " nulls last";
+            case NATIVE -> "";
+        };
+    }
+}
@@ -2,18 +2,24 @@ package study.data_jpa.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import study.data_jpa.entity.Member;
+import study.data_jpa.support.change.MemberChangeTracker;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@RequiredArgsConstructor
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    private final TeamMemberSummaryRepository teamMemberSummaryRepository;
+    private final MemberChangeTracker memberChangeTracker;
+
     public Member save(Member member) {
         em.persist(member);
         return member;
@@ -27,6 +33,12 @@ public class MemberJpaRepository {
         return em.createQuery("select m from Member m", Member.class).getResultList();
     }
 
+    // 변경하지 않을 대량 조회용 (스냅샷 없음)
+    @ReadOnlyQuery
+    public List<Member> findAllReadOnly() {
+        return em.createQuery("select m from Member m", Member.class).getResultList();
+    }
+
     public Optional<Member> findById(Long id) {
         Member member = em.find(Member.class, id);
         return Optional.ofNullable(member);
@@ -73,7 +85,9 @@ public class MemberJpaRepository {
     }
 
     public int bulkAgePlus(int age) {
-        return em.createQuery("update Member m" +
+        teamMemberSummaryRepository.applyBulkAgePlus(age);
+        memberChangeTracker.changedAfterCommit();
+        return em.createQuery("update versioned Member m" +
                 " set m.age = m.age+1" +
                 " where m.age > :age")
                 .setParameter("age", age)
@@ -0,0 +1,9 @@
+package study.data_jpa.repository;
+
+import org.springframework.data.domain.Sort;
+import study.data_jpa.entity.Member;
+
+public interface MemberKeysetRepository {
+
+    CursorPage<Member> findMemberKeyset(String cursor, int size, Sort.Direction direction);
+}
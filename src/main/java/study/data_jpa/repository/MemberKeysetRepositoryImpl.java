@@ -0,0 +1,52 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import study.data_jpa.entity.Member;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class MemberKeysetRepositoryImpl implements MemberKeysetRepository {
+
+    private final EntityManager em;
+
+    // offset 대신 마지막 (username, member_id) 이후부터 조회, count 쿼리 없음
+    // null username 은 가장 작은 값으로 취급 (asc 면 맨 앞, desc 면 맨 뒤)
+    @Override
+    public CursorPage<Member> findMemberKeyset(String cursor, int size, Sort.Direction direction) {
+        MemberCursor position = MemberCursor.decode(cursor);
+        boolean asc = direction.isAscending();
+        String op = asc ? ">" : "<";
+        String order = asc ? " asc nulls first" : " desc nulls last";
+
+        String jpql = "select m from Member m";
+        if (position != null && position.getUsername() == null) {
+            jpql += asc
+                    ? " where m.username is not null or (m.username is null and m.id > :id)"
+                    : " where m.username is null and m.id < :id";
+        } else if (position != null) {
+            jpql += " where m.username " + op + " :username" +
+                    " or (m.username = :username and m.id " + op + " :id)" +
+                    (asc ? "" : " or m.username is null");
+        }
+        jpql += " order by m.username" + order + ", m.id" + (asc ? " asc" : " desc");
+
+        TypedQuery<Member> query = em.createQuery(jpql, Member.class)
+                .setMaxResults(size + 1);
+        if (position != null) {
+            query.setParameter("id", position.getId());
+            if (position.getUsername() != null) {
+                query.setParameter("username", position.getUsername());
+            }
+        }
+
+        List<Member> result = query.getResultList();
+        boolean hasNext = result.size() > size;
+        List<Member> content = hasNext ? result.subList(0, size) : result;
+        String nextCursor = hasNext ? MemberCursor.of(content.get(size - 1)).encode() : null;
+        return new CursorPage<>(content, nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,8 @@
+package study.data_jpa.repository;
+
+import java.util.List;
+
+public interface MemberProjectionQueryRepository {
+
+    <T> List<T> findCompiledProjectionByUsername(String username, Class<T> type);
+}
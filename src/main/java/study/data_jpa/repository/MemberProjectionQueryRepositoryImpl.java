@@ -0,0 +1,30 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class MemberProjectionQueryRepositoryImpl implements MemberProjectionQueryRepository {
+
+    private final EntityManager em;
+    private final ProjectionCompiler compiler = new ProjectionCompiler("m");
+
+    @Override
+    public <T> List<T> findCompiledProjectionByUsername(String username, Class<T> type) {
+        CompiledProjection<T> projection = compiler.compile(type);
+        List<?> rows = em.createQuery("select " + projection.selectClause() +
+                        " from Member m" + projection.joinClause() +
+                        " where m.username = :username")
+                .setParameter("username", username)
+                .getResultList();
+
+        List<T> result = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            result.add(projection.map(row));
+        }
+        return result;
+    }
+}
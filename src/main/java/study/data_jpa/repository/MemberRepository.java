@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import study.data_jpa.dto.MemberDto;
 import study.data_jpa.entity.Member;
 
@@ -14,7 +15,9 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, MemberKeysetRepository,
+        MemberAdaptiveCountRepository, MemberProjectionQueryRepository, MemberBulkLookupRepository,
+        MemberDtoQueryRepository {
 
     public List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
 
@@ -23,18 +26,30 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     //@Query(name = "Member.findByUsername")
     public List<Member> findByUsername(@Param("username") String username);
 
+    // 변경하지 않을 대량 조회용 (스냅샷 없음)
+    @ReadOnlyQuery
+    @Query("select m from Member m where m.username = :username")
+    public List<Member> findReadOnlyMembersByUsername(@Param("username") String username);
+
     @Query("select m from Member m where m.username = :username and m.age = :age")
     public List<Member> findUser(@Param("username") String username, @Param("age") int age);
 
     @Query("select m.username from Member m")
     public List<String> findByUsernameList();
 
+    @Query("select new study.data_jpa.repository.MemberVersion(m.id, m.version) from Member m where m.id = :id")
+    Optional<MemberVersion> findVersionById(@Param("id") Long id);
+
     @Query("select new study.data_jpa.dto.MemberDto(m.id, m.username, m.age, t.name) from Member m join m.team t")
     public List<MemberDto> findMemberDto();
 
     @Query("select m from Member m where m.username in :names")
     public List<Member> findByNames(@Param("names") Collection<String> names);
 
+    @ReadOnlyQuery
+    @Query("select m from Member m where m.username in :names")
+    public List<Member> findReadOnlyByNames(@Param("names") Collection<String> names);
+
     public List<Member> findMemberListByUsername(String username);
 
     public Member findMemberByUsername(String username);
@@ -48,10 +63,6 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
 
     List<Member> findListByAge(int age, Pageable pageable);
 
-    @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age+1 where m.age > :age")
-    int bulkAgePlus(@Param("age") int age);
-
     // 직접 jpql에 fetch 조인 쿼리문 작성
     // 실무에서 쿼리가 복잡한 경우 사용
     // 실무에서 쿼리가 간단한 경우 EntityGraph 사용
@@ -74,6 +85,7 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Member findReadOnlyByUsername(String username);
 
+    @Transactional
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Member findLockByUsername(String username);
 
@@ -1,5 +1,6 @@
 package study.data_jpa.repository;
 
+import org.springframework.transaction.annotation.Transactional;
 import study.data_jpa.entity.Member;
 
 import java.util.List;
@@ -7,4 +8,18 @@ import java.util.List;
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
+
+    // spring data 기본 readOnly 트랜잭션 대신 쓰기 트랜잭션(primary)으로 실행
+    @Transactional
+    int bulkAgePlus(int age);
+
+    // 벌크 삭제도 ETag 세대가 바뀌도록 기본 구현 대신 사용 (MemberRepositoryImpl)
+    @Transactional
+    void deleteAllInBatch();
+
+    @Transactional
+    void deleteAllInBatch(Iterable<Member> entities);
+
+    @Transactional
+    void deleteAllByIdInBatch(Iterable<Long> ids);
 }
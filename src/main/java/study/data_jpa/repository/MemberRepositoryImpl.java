@@ -2,17 +2,65 @@ package study.data_jpa.repository;
 
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
 import study.data_jpa.entity.Member;
+import study.data_jpa.support.change.MemberChangeTracker;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.StreamSupport;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
     private final EntityManager em;
+    private final TeamMemberSummaryRepository teamMemberSummaryRepository;
+    private final MemberChangeTracker memberChangeTracker;
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m", Member.class).getResultList();
     }
+
+    // 벌크 연산은 엔티티 이벤트가 없으므로 요약 테이블을 먼저 갱신하고, 끝나면 영속성 컨텍스트 초기화
+    @Override
+    @Transactional
+    public int bulkAgePlus(int age) {
+        teamMemberSummaryRepository.applyBulkAgePlus(age);
+        int result = em.createQuery("update versioned Member m set m.age = m.age+1 where m.age > :age")
+                .setParameter("age", age)
+                .executeUpdate();
+        em.clear();
+        memberChangeTracker.changedAfterCommit();
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllInBatch() {
+        em.createQuery("delete from Member m").executeUpdate();
+        memberChangeTracker.changedAfterCommit();
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllInBatch(Iterable<Member> entities) {
+        deleteAllByIdInBatch(StreamSupport.stream(entities.spliterator(), false)
+                .map(Member::getId)
+                .toList());
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        List<Long> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+        if (idList.isEmpty()) {
+            return;
+        }
+        em.createQuery("delete from Member m where m.id in :ids")
+                .setParameter("ids", idList)
+                .executeUpdate();
+        memberChangeTracker.changedAfterCommit();
+    }
 }
@@ -0,0 +1,47 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import study.data_jpa.dto.MemberDto;
+
+import java.util.function.Consumer;
+
+/**
+ * 전체 회원 export 용 스트리밍 조회
+ * StatelessSession + forward-only 커서라서 영속성 컨텍스트에 엔티티가 쌓이지 않는다.
+ */
+@Repository
+public class MemberStreamRepository {
+
+    private final SessionFactory sessionFactory;
+    private final int fetchSize;
+
+    public MemberStreamRepository(EntityManagerFactory emf,
+                                  @Value("${spring.jpa.properties.hibernate.jdbc.fetch_size:500}") int fetchSize) {
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+        this.fetchSize = fetchSize;
+    }
+
+    public long streamMemberDto(Consumer<MemberDto> action) {
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             ScrollableResults<MemberDto> results = session.createQuery(
+                             "select new study.data_jpa.dto.MemberDto(m.id, m.username, m.age, t.name)" +
+                                     " from Member m left join m.team t" +
+                                     " order by m.id", MemberDto.class)
+                     .setFetchSize(fetchSize)
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            long count = 0;
+            while (results.next()) {
+                action.accept(results.get());
+                count++;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package study.data_jpa.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 조건부 요청(ETag) 확인용, 엔티티를 로딩하지 않고 버전만 조회
+ * version 은 벌크/jdbc 갱신에서도 증가하므로 ETag 기준으로 사용한다.
+ */
+@Getter
+@AllArgsConstructor
+public class MemberVersion {
+
+    private final Long id;
+    private final Long version;
+}
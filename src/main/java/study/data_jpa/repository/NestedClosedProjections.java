@@ -6,6 +6,11 @@ public interface NestedClosedProjections {
 
     TeamInfo getTeam();
 
+    default String teamName() {
+        TeamInfo team = getTeam();
+        return team == null ? "-" : team.getName();
+    }
+
     interface TeamInfo {
         String getName();
     }
@@ -0,0 +1,206 @@
+package study.data_jpa.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * spring data 프록시 프로젝션 대신 쓰는 프로젝션 컴파일러
+ * - 클래스(dto): 생성자 파라미터 이름으로 select 절을 만들고 MethodHandle 로 생성자를 바로 호출
+ * - 인터페이스: getter 이름으로 select 절을 만들고, getter -> row index 를 미리 계산해 둔 프록시로 감싼다
+ *   default 메서드는 프록시에서 그대로 호출한다.
+ * 결과는 (query, projection type) 별로 캐시한다.
+ */
+public class ProjectionCompiler {
+
+    private final String rootAlias;
+    private final Map<Class<?>, CompiledProjection<?>> cache = new ConcurrentHashMap<>();
+
+    public ProjectionCompiler(String rootAlias) {
+        this.rootAlias = rootAlias;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompiledProjection<T> compile(Class<T> type) {
+        return (CompiledProjection<T>) cache.computeIfAbsent(type, this::doCompile);
+    }
+
+    private <T> CompiledProjection<T> doCompile(Class<T> type) {
+        List<String> selections = new ArrayList<>();
+        List<String> joins = new ArrayList<>();
+        Function<Object[], T> mapper = type.isInterface()
+                ? interfaceMapper(type, rootAlias, selections, joins)
+                : constructorMapper(type, rootAlias, selections);
+        return new CompiledProjection<>(List.copyOf(selections), List.copyOf(joins), mapper);
+    }
+
+    private static <T> Function<Object[], T> constructorMapper(Class<T> type, String alias, List<String> selections) {
+        Constructor<?> constructor = Arrays.stream(type.getConstructors())
+                .max((a, b) -> Integer.compare(a.getParameterCount(), b.getParameterCount()))
+                .orElseThrow(() -> new IllegalArgumentException("no public constructor: " + type.getName()));
+        for (Parameter parameter : constructor.getParameters()) {
+            if (!parameter.isNamePresent()) {
+                throw new IllegalStateException("compile with -parameters to use " + type.getName() + " as projection");
+            }
+            selections.add(alias + "." + parameter.getName());
+        }
+
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("cannot access constructor of " + type.getName(), e);
+        }
+        return row -> {
+            try {
+                return type.cast((Object) handle.invokeExact(row));
+            } catch (Throwable e) {
+                throw new IllegalStateException("projection failed: " + type.getName(), e);
+            }
+        };
+    }
+
+    private static <T> Function<Object[], T> interfaceMapper(Class<T> type, String alias,
+                                                             List<String> selections, List<String> joins) {
+        // 프록시가 넘겨주는 Method 는 getMethods() 와 다른 인스턴스이므로 equals 로 찾는다
+        Map<Method, Integer> index = new HashMap<>();
+        Map<Method, Integer> nestedSlots = new HashMap<>();
+        List<Function<Object[], ?>> nestedMappers = new ArrayList<>();
+
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || method.isDefault() || method.getParameterCount() > 0) {
+                continue;
+            }
+            if (method.isAnnotationPresent(Value.class)) {
+                throw new IllegalArgumentException("open projection is not supported: " + method);
+            }
+            String property = propertyName(method);
+            if (method.getReturnType().isInterface() && method.getReturnType().getName().startsWith("study.data_jpa.")) {
+                String joinAlias = alias + "_" + property;
+                joins.add("left join " + alias + "." + property + " " + joinAlias);
+                // 중첩 프로젝션도 같은 row 를 공유하고 index 만 이어서 사용
+                nestedSlots.put(method, nestedMappers.size());
+                int from = selections.size();
+                Function<Object[], ?> nestedMapper = interfaceMapper(method.getReturnType(), joinAlias, selections, joins);
+                int to = selections.size();
+                // left join 대상이 없으면(팀 없는 회원) 컬럼이 전부 null 이므로 프로젝션도 null
+                nestedMappers.add(row -> allNull(row, from, to) ? null : nestedMapper.apply(row));
+            } else {
+                index.put(method, selections.size());
+                selections.add(alias + "." + property);
+            }
+        }
+
+        // 프록시 클래스 생성자는 한 번만 찾고 row 마다 핸들러만 새로 만든다
+        MethodHandle constructor = proxyConstructor(type);
+        List<Function<Object[], ?>> mappers = List.copyOf(nestedMappers);
+        return row -> {
+            try {
+                return type.cast((Object) constructor.invokeExact(
+                        (InvocationHandler) new TupleInvocationHandler(row, index, nestedSlots, mappers)));
+            } catch (Throwable e) {
+                throw new IllegalStateException("projection failed: " + type.getName(), e);
+            }
+        };
+    }
+
+    private static MethodHandle proxyConstructor(Class<?> type) {
+        Class<?> proxyClass = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> null).getClass();
+        try {
+            return MethodHandles.publicLookup()
+                    .findConstructor(proxyClass, MethodType.methodType(void.class, InvocationHandler.class))
+                    .asType(MethodType.methodType(Object.class, InvocationHandler.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("cannot create projection proxy for " + type.getName(), e);
+        }
+    }
+
+    private static boolean allNull(Object[] row, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (row[i] != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String propertyName(Method getter) {
+        String name = getter.getName();
+        int prefix = name.startsWith("get") ? 3 : name.startsWith("is") ? 2 : 0;
+        if (prefix == 0 || name.length() == prefix) {
+            throw new IllegalArgumentException("not a getter: " + getter);
+        }
+        return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+    }
+
+    private static class TupleInvocationHandler implements InvocationHandler {
+
+        private final Object[] row;
+        private final Map<Method, Integer> index;
+        private final Map<Method, Integer> nestedSlots;
+        private final List<Function<Object[], ?>> nestedMappers;
+        private static final Object NULL = new Object();
+
+        // 중첩 프로젝션은 처음 호출할 때 한 번만 만든다 (null 결과는 NULL 로 기억)
+        private Object[] nestedValues;
+
+        TupleInvocationHandler(Object[] row, Map<Method, Integer> index,
+                               Map<Method, Integer> nestedSlots, List<Function<Object[], ?>> nestedMappers) {
+            this.row = row;
+            this.index = index;
+            this.nestedSlots = nestedSlots;
+            this.nestedMappers = nestedMappers;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Integer i = index.get(method);
+            if (i != null) {
+                return row[i];
+            }
+            Integer slot = nestedSlots.get(method);
+            if (slot != null) {
+                return nested(slot);
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> Arrays.toString(row);
+                default -> throw new UnsupportedOperationException(method.toString());
+            };
+        }
+
+        private Object nested(int slot) {
+            if (nestedValues == null) {
+                nestedValues = new Object[nestedMappers.size()];
+            }
+            Object value = nestedValues[slot];
+            if (value == null) {
+                value = nestedMappers.get(slot).apply(row);
+                nestedValues[slot] = value == null ? NULL : value;
+            }
+            return value == NULL ? null : value;
+        }
+    }
+}
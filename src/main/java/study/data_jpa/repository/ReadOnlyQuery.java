@@ -0,0 +1,26 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 조회 전용 메서드 표시
+ * 새 트랜잭션이면 readOnly 트랜잭션(FlushMode.MANUAL, 세션 기본 read-only)으로 시작하고,
+ * 기존 트랜잭션에 참여하면 ReadOnlyQueryAspect 가 조회된 엔티티를 read-only(스냅샷 없음)로 로딩한다.
+ * 변경 감지가 되지 않으므로 수정할 엔티티를 조회할 때는 사용하지 않는다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+public @interface ReadOnlyQuery {
+}
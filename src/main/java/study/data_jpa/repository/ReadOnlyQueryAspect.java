@@ -0,0 +1,39 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 쓰기 트랜잭션에 참여한 @ReadOnlyQuery 호출 동안 세션 기본값을 read-only 로 바꿨다가 되돌린다.
+ * 외부 트랜잭션의 변경 내용이 조회에 반영되어야 하므로 flush 모드는 건드리지 않는다.
+ */
+@Aspect
+@Component
+public class ReadOnlyQueryAspect {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Around("@annotation(study.data_jpa.repository.ReadOnlyQuery)")
+    public Object readOnly(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return joinPoint.proceed();
+        }
+
+        Session session = em.unwrap(Session.class);
+        boolean defaultReadOnly = session.isDefaultReadOnly();
+        session.setDefaultReadOnly(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            session.setDefaultReadOnly(defaultReadOnly);
+        }
+    }
+}
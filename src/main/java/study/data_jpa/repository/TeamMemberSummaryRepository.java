@@ -0,0 +1,34 @@
+package study.data_jpa.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.entity.TeamMemberSummary;
+
+import java.util.List;
+
+public interface TeamMemberSummaryRepository extends JpaRepository<TeamMemberSummary, Long> {
+
+    List<TeamMemberSummary> findAllByOrderByMemberCountDesc();
+
+    List<TeamMemberSummary> findByTeamName(String teamName);
+
+    @Query("select sum(s.memberCount) from TeamMemberSummary s")
+    Long totalMemberCount();
+
+    // bulkAgePlus 는 엔티티 이벤트가 발생하지 않으므로 실행 전에 팀별 대상 인원만큼 나이 합계를 올린다
+    @Transactional
+    @Modifying
+    @Query("update TeamMemberSummary s" +
+            " set s.ageSum = s.ageSum + (select count(m) from Member m where m.team.id = s.teamId and m.age > :age)")
+    int applyBulkAgePlus(@Param("age") int age);
+
+    @Transactional
+    @Modifying
+    @Query("update TeamMemberSummary s" +
+            " set s.ageSum = s.ageSum + (select count(m) from Member m where m.team.id = s.teamId and m.age > :age" +
+            " and m.id > :fromId and m.id <= :toId)")
+    int applyBulkAgePlus(@Param("age") int age, @Param("fromId") long fromId, @Param("toId") long toId);
+}
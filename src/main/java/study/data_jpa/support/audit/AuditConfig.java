@@ -0,0 +1,15 @@
+package study.data_jpa.support.audit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AuditConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer auditFlushInterceptorCustomizer(AuditContext auditContext) {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new AuditFlushInterceptor(auditContext));
+    }
+}
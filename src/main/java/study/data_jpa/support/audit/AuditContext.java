@@ -0,0 +1,63 @@
+package study.data_jpa.support.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * auditor 는 요청(없으면 트랜잭션)당 한 번만 AuditorAware 로 조회하고,
+ * 시각은 같은 flush 에 포함된 엔티티끼리 공유한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditContext {
+
+    private static final String AUDITOR_ATTRIBUTE = AuditContext.class.getName() + ".auditor";
+
+    private final AuditorAware<String> auditorAware;
+
+    public AuditStamp current() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new AuditStamp(resolveAuditor());
+        }
+        AuditStamp stamp = (AuditStamp) TransactionSynchronizationManager.getResource(this);
+        if (stamp == null) {
+            stamp = new AuditStamp(resolveAuditor());
+            TransactionSynchronizationManager.bindResource(this, stamp);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditContext.this);
+                }
+            });
+        }
+        return stamp;
+    }
+
+    // flush 가 끝나면 다음 flush 는 새 시각을 사용
+    void afterFlush() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            AuditStamp stamp = (AuditStamp) TransactionSynchronizationManager.getResource(this);
+            if (stamp != null) {
+                stamp.resetTimestamp();
+            }
+        }
+    }
+
+    private String resolveAuditor() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return auditorAware.getCurrentAuditor().orElse(null);
+        }
+        String auditor = (String) request.getAttribute(AUDITOR_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (auditor == null) {
+            auditor = auditorAware.getCurrentAuditor().orElse(null);
+            request.setAttribute(AUDITOR_ATTRIBUTE, auditor, RequestAttributes.SCOPE_REQUEST);
+        }
+        return auditor;
+    }
+}
@@ -0,0 +1,17 @@
+package study.data_jpa.support.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Interceptor;
+
+import java.util.Iterator;
+
+@RequiredArgsConstructor
+public class AuditFlushInterceptor implements Interceptor {
+
+    private final AuditContext auditContext;
+
+    @Override
+    public void postFlush(Iterator<Object> entities) {
+        auditContext.afterFlush();
+    }
+}
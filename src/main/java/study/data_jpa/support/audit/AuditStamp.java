@@ -0,0 +1,31 @@
+package study.data_jpa.support.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * 요청/트랜잭션 동안 공유하는 auditor 와 flush 단위로 공유하는 시각
+ */
+public class AuditStamp {
+
+    private final String auditor;
+    private LocalDateTime timestamp;
+
+    AuditStamp(String auditor) {
+        this.auditor = auditor;
+    }
+
+    public String getAuditor() {
+        return auditor;
+    }
+
+    public LocalDateTime getTimestamp() {
+        if (timestamp == null) {
+            timestamp = LocalDateTime.now();
+        }
+        return timestamp;
+    }
+
+    void resetTimestamp() {
+        timestamp = null;
+    }
+}
@@ -0,0 +1,32 @@
+package study.data_jpa.support.audit;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+import study.data_jpa.entity.AuditStamped;
+
+/**
+ * AuditingEntityListener 대체
+ * 필드 리플렉션 없이 AuditStamped 메서드로 직접 값을 넣는다. (스프링 빈 컨테이너로 생성됨)
+ */
+@RequiredArgsConstructor
+public class AuditStampListener {
+
+    private final AuditContext auditContext;
+
+    @PrePersist
+    public void prePersist(Object entity) {
+        if (entity instanceof AuditStamped stamped) {
+            AuditStamp stamp = auditContext.current();
+            stamped.stampCreated(stamp.getAuditor(), stamp.getTimestamp());
+        }
+    }
+
+    @PreUpdate
+    public void preUpdate(Object entity) {
+        if (entity instanceof AuditStamped stamped) {
+            AuditStamp stamp = auditContext.current();
+            stamped.stampModified(stamp.getAuditor(), stamp.getTimestamp());
+        }
+    }
+}
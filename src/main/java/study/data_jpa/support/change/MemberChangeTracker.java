@@ -0,0 +1,110 @@
+package study.data_jpa.support.change;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Member(팀 이름이 응답에 포함되므로 Team 도) 데이터가 바뀔 때마다 증가하는 세대 번호
+ * 엔티티 변경은 hibernate 커밋 후 이벤트로, 벌크 연산/jdbc 쓰기는 호출한 쪽에서 changedAfterCommit() 으로 알린다.
+ * 세대와 엔티티 version 은 프로세스(db 재생성)마다 다시 시작하므로 ETag 에는 기동 시각을 함께 넣는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberChangeTracker {
+
+    private final EntityManagerFactory emf;
+    private final AtomicLong generation = new AtomicLong();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        Listener listener = new Listener();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public String etag(String prefix, long generation) {
+        return "W/\"" + prefix + "-" + epoch + "-" + generation + "\"";
+    }
+
+    public void changed() {
+        generation.incrementAndGet();
+    }
+
+    // 트랜잭션 안이면 커밋 후에 증가 (롤백되면 그대로)
+    public void changedAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changed();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changed();
+            }
+        });
+    }
+
+    private class Listener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+            PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            changed();
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            changed();
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            changed();
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            Class<?> type = persister.getMappedClass();
+            return type == Member.class || type == Team.class;
+        }
+    }
+}
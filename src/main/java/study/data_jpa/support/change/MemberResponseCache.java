@@ -0,0 +1,55 @@
+package study.data_jpa.support.change;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * 회원 조회 응답 캐시 (서버 측)
+ * 세대가 바뀌면(회원/팀 변경) 이전 세대에 만든 응답은 사용하지 않는다.
+ * 세대는 조회 전에 읽어야 조회 도중 바뀐 데이터가 새 세대로 저장되지 않는다.
+ */
+@Component
+public class MemberResponseCache {
+
+    private final Cache<String, Entry> cache;
+
+    public MemberResponseCache(MeterRegistry registry,
+                               @Value("${app.member-response-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "member-response");
+    }
+
+    /**
+     * key 자체가 데이터 버전을 나타낼 때 (ex. 회원 id + version)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        return (T) cache.get(key, k -> new Entry(-1, loader.get())).value;
+    }
+
+    /**
+     * generation 세대에서만 유효한 응답 (ex. 목록)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, long generation, Supplier<T> loader) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.generation == generation) {
+            return (T) entry.value;
+        }
+        T value = loader.get();
+        cache.put(key, new Entry(generation, value));
+        return value;
+    }
+
+    private record Entry(long generation, Object value) {
+    }
+}
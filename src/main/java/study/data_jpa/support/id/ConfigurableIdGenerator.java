@@ -0,0 +1,174 @@
+package study.data_jpa.support.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 설정(app.id.*, spring.jpa.properties 로 전달)으로 전략을 고르는 시퀀스 기반 식별자 생성기
+ * 엔티티에는 @ConfigurableSequence 로 지정한다.
+ * - pooled-lo: 시퀀스 한 번 호출로 allocation-size 개를 모든 스레드가 나눠 쓴다. (옵티마이저 내부 락)
+ * - thread-block: 스레드마다 allocation-size 개 블록을 받아서 락 없이 사용한다. 스레드가 끝나면 남은 번호는 버려진다.
+ *   가상 스레드는 요청마다 새로 만들어지므로 블록을 거의 쓰지 못하고 시퀀스만 낭비한다.
+ *   app.id.virtual-threads=true (spring.threads.virtual.enabled 를 따름) 이면 pooled-lo 로 대신한다.
+ * - snowflake: 시간(41bit) + worker(10bit) + 순번(12bit) 64bit 값, db 호출 없음. 시퀀스 전략으로 되돌리면 충돌할 수 있다.
+ */
+@Slf4j
+public class ConfigurableIdGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY = "app.id.strategy";
+    public static final String ALLOCATION_SIZE = "app.id.allocation-size";
+    public static final String WORKER_ID = "app.id.worker-id";
+    public static final String VIRTUAL_THREADS = "app.id.virtual-threads";
+
+    // 2024-01-01T00:00:00Z
+    private static final long SNOWFLAKE_EPOCH = 1704067200000L;
+    private static final int SEQUENCE_BITS = 12;
+    private static final int WORKER_BITS = 10;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private boolean configured;
+    private Strategy strategy;
+    private IdGeneratorStats stats;
+    private int blockSize;
+    private long workerId;
+
+    private final ThreadLocal<Block> threadBlock = new ThreadLocal<>();
+    // (마지막 시각 << SEQUENCE_BITS) | 순번
+    private final AtomicLong snowflakeState = new AtomicLong();
+
+    enum Strategy {
+        POOLED_LO, THREAD_BLOCK, SNOWFLAKE;
+
+        static Strategy of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    public ConfigurableIdGenerator(ConfigurableSequence config, Member annotatedMember,
+                                   CustomIdGeneratorCreationContext context) {
+        Properties parameters = new Properties();
+        parameters.setProperty(SEQUENCE_PARAM, config.name());
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(config.allocationSize()));
+        if (context.getDefaultCatalog() != null) {
+            parameters.setProperty(CATALOG, context.getDefaultCatalog());
+        }
+        if (context.getDefaultSchema() != null) {
+            parameters.setProperty(SCHEMA, context.getDefaultSchema());
+        }
+        configure(context.getPersistentClass().getIdentifier().getType(), parameters, context.getServiceRegistry());
+    }
+
+    // 어노테이션 값으로 생성자에서 설정하므로 이후 hibernate 가 기본 파라미터로 다시 호출해도 무시
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        if (configured) {
+            return;
+        }
+        configured = true;
+        Map<String, Object> settings = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+        Object allocationSize = settings.get(ALLOCATION_SIZE);
+        if (allocationSize != null) {
+            parameters.setProperty(INCREMENT_PARAM, allocationSize.toString());
+        }
+        parameters.putIfAbsent(OPT_PARAM, "pooled-lo");
+        super.configure(type, parameters, serviceRegistry);
+
+        this.strategy = Strategy.of(String.valueOf(settings.getOrDefault(STRATEGY, "pooled-lo")));
+        if (strategy == Strategy.THREAD_BLOCK && Boolean.parseBoolean(String.valueOf(settings.get(VIRTUAL_THREADS)))) {
+            log.warn("thread-block id strategy wastes sequence values on virtual threads, using pooled-lo for {}",
+                    parameters.getProperty(SEQUENCE_PARAM));
+            this.strategy = Strategy.POOLED_LO;
+        }
+        this.blockSize = Integer.parseInt(parameters.getProperty(INCREMENT_PARAM, "50"));
+        this.workerId = Long.parseLong(String.valueOf(settings.getOrDefault(WORKER_ID, "0")));
+        if (workerId < 0 || workerId >= (1L << WORKER_BITS)) {
+            throw new MappingException(WORKER_ID + " must be between 0 and " + ((1L << WORKER_BITS) - 1));
+        }
+        this.stats = new IdGeneratorStats(parameters.getProperty(SEQUENCE_PARAM),
+                strategy.name().toLowerCase(Locale.ROOT).replace('_', '-'));
+    }
+
+    public IdGeneratorStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        long id = switch (strategy) {
+            case POOLED_LO -> ((Number) getOptimizer().generate(countingCallback(session))).longValue();
+            case THREAD_BLOCK -> nextFromThreadBlock(session);
+            case SNOWFLAKE -> nextSnowflake();
+        };
+        stats.generated();
+        return id;
+    }
+
+    private long nextFromThreadBlock(SharedSessionContractImplementor session) {
+        Block block = threadBlock.get();
+        if (block == null || block.next >= block.end) {
+            // pooled-lo 와 같은 해석: 시퀀스 값 v 는 [v, v + increment) 블록
+            long lo = countingCallback(session).getNextValue().makeValue().longValue();
+            block = new Block(lo, lo + blockSize);
+            threadBlock.set(block);
+        }
+        return block.next++;
+    }
+
+    private long nextSnowflake() {
+        while (true) {
+            long prev = snowflakeState.get();
+            long prevMillis = prev >>> SEQUENCE_BITS;
+            long millis = Math.max(System.currentTimeMillis() - SNOWFLAKE_EPOCH, prevMillis);
+            long sequence = millis == prevMillis ? (prev & MAX_SEQUENCE) + 1 : 0;
+            if (sequence > MAX_SEQUENCE) {
+                // 같은 ms 에 순번을 다 쓰면 기다리지 않고 다음 ms 를 미리 사용 (시계가 뒤로 가도 단조 증가)
+                millis = prevMillis + 1;
+                sequence = 0;
+            }
+            if (snowflakeState.compareAndSet(prev, (millis << SEQUENCE_BITS) | sequence)) {
+                return (millis << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    private AccessCallback countingCallback(SharedSessionContractImplementor session) {
+        AccessCallback callback = getDatabaseStructure().buildCallback(session);
+        return new AccessCallback() {
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                stats.sequenceCalled();
+                return callback.getNextValue();
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return callback.getTenantIdentifier();
+            }
+        };
+    }
+
+    private static final class Block {
+
+        private long next;
+        private final long end;
+
+        private Block(long next, long end) {
+            this.next = next;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package study.data_jpa.support.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * ConfigurableIdGenerator 로 식별자를 생성한다. (@GeneratedValue 없이 @Id 와 함께 사용)
+ * 전략과 allocation-size 는 app.id.* 설정이 우선한다.
+ */
+@IdGeneratorType(ConfigurableIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface ConfigurableSequence {
+
+    String name();
+
+    int allocationSize() default 50;
+}
@@ -0,0 +1,33 @@
+package study.data_jpa.support.id;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * id.generated, id.sequence.calls (시퀀스, 전략별)
+ * 이 컨텍스트의 EntityManagerFactory 에 등록된 생성기만 바인딩한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdGeneratorMetrics implements MeterBinder {
+
+    private final EntityManagerFactory emf;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        IdGeneratorStats.all(emf).forEach((sequence, stats) -> {
+            FunctionCounter.builder("id.generated", stats, IdGeneratorStats::getGenerated)
+                    .tag("sequence", sequence)
+                    .tag("strategy", stats.getStrategy())
+                    .register(registry);
+            FunctionCounter.builder("id.sequence.calls", stats, IdGeneratorStats::getSequenceCalls)
+                    .tag("sequence", sequence)
+                    .tag("strategy", stats.getStrategy())
+                    .register(registry);
+        });
+    }
+}
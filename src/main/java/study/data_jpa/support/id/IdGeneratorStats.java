@@ -0,0 +1,62 @@
+package study.data_jpa.support.id;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 식별자 생성 통계 (시퀀스별 생성 건수, db 왕복 수)
+ * 생성기마다 하나씩 가지므로 EntityManagerFactory(컨텍스트)가 여러 개여도 서로 섞이지 않는다.
+ */
+public final class IdGeneratorStats {
+
+    private final String sequence;
+    private final String strategy;
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder sequenceCalls = new LongAdder();
+
+    IdGeneratorStats(String sequence, String strategy) {
+        this.sequence = sequence;
+        this.strategy = strategy;
+    }
+
+    /**
+     * emf 의 엔티티가 사용하는 ConfigurableIdGenerator 통계 (시퀀스 이름별)
+     */
+    public static Map<String, IdGeneratorStats> all(EntityManagerFactory emf) {
+        Map<String, IdGeneratorStats> stats = new TreeMap<>();
+        emf.unwrap(SessionFactoryImplementor.class).getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof ConfigurableIdGenerator generator) {
+                stats.putIfAbsent(generator.getStats().getSequence(), generator.getStats());
+            }
+        });
+        return stats;
+    }
+
+    public String getSequence() {
+        return sequence;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public long getGenerated() {
+        return generated.sum();
+    }
+
+    public long getSequenceCalls() {
+        return sequenceCalls.sum();
+    }
+
+    void generated() {
+        generated.increment();
+    }
+
+    void sequenceCalled() {
+        sequenceCalls.increment();
+    }
+}
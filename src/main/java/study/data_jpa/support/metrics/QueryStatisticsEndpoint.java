@@ -0,0 +1,94 @@
+package study.data_jpa.support.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import study.data_jpa.dto.QueryStatsDto;
+import study.data_jpa.dto.QueryStatsReportDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * /actuator/querystats
+ * hibernate Statistics 기반 쿼리(HQL/JPQL, 네이티브 sql 문자열)별 실행 횟수, 시간, 반환 건수, 쿼리 계획 캐시 적중률, 컴파일 시간
+ * 쿼리 문자열을 이어 붙여 만드는 쿼리는 문자열마다 별도 항목 + 계획 캐시 miss 로 드러난다.
+ * 시간 단위는 ms, 컴파일 시간만 us
+ */
+@Component
+@Endpoint(id = "querystats")
+public class QueryStatisticsEndpoint {
+
+    private final Statistics statistics;
+
+    public QueryStatisticsEndpoint(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * @param sort  total(기본), max, count, miss(계획 캐시 miss)
+     * @param limit 상위 n 개 (기본 50)
+     */
+    @ReadOperation
+    public QueryStatsReportDto queryStatistics(@Nullable String sort, @Nullable Integer limit) {
+        List<QueryStatsDto> queries = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics stats = statistics.getQueryStatistics(query);
+            queries.add(new QueryStatsDto(query,
+                    stats.getExecutionCount(),
+                    stats.getExecutionRowCount(),
+                    stats.getExecutionAvgTime(),
+                    stats.getExecutionMaxTime(),
+                    stats.getExecutionTotalTime(),
+                    stats.getPlanCacheHitCount(),
+                    stats.getPlanCacheMissCount(),
+                    hitRate(stats.getPlanCacheHitCount(), stats.getPlanCacheMissCount()),
+                    stats.getPlanCompilationTotalMicroseconds(),
+                    stats.getCacheHitCount(),
+                    stats.getCacheMissCount()));
+        }
+        queries.sort(comparator(sort).reversed());
+
+        return new QueryStatsReportDto(
+                statistics.isStatisticsEnabled(),
+                statistics.getQueryExecutionCount(),
+                statistics.getQueryPlanCacheHitCount(),
+                statistics.getQueryPlanCacheMissCount(),
+                hitRate(statistics.getQueryPlanCacheHitCount(), statistics.getQueryPlanCacheMissCount()),
+                statistics.getPrepareStatementCount(),
+                statistics.getCloseStatementCount(),
+                statistics.getQueryExecutionMaxTimeQueryString(),
+                statistics.getQueryExecutionMaxTime(),
+                queries.subList(0, Math.min(queries.size(), limit == null ? 50 : Math.max(limit, 0))));
+    }
+
+    // 배포 직후/부하 테스트 전에 통계 초기화 (2차 캐시 통계도 같이 초기화됨)
+    @DeleteOperation
+    public void reset() {
+        statistics.clear();
+    }
+
+    private static Comparator<QueryStatsDto> comparator(@Nullable String sort) {
+        if (sort == null) {
+            return Comparator.comparingLong(QueryStatsDto::getExecutionTotalTime);
+        }
+        return switch (sort) {
+            case "max" -> Comparator.comparingLong(QueryStatsDto::getExecutionMaxTime);
+            case "count" -> Comparator.comparingLong(QueryStatsDto::getExecutionCount);
+            case "miss" -> Comparator.comparingLong(QueryStatsDto::getPlanCacheMissCount);
+            default -> Comparator.comparingLong(QueryStatsDto::getExecutionTotalTime);
+        };
+    }
+
+    private static double hitRate(long hit, long miss) {
+        long total = hit + miss;
+        return total == 0 ? 0 : (double) hit / total;
+    }
+}
@@ -0,0 +1,126 @@
+package study.data_jpa.support.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+import study.data_jpa.support.querycount.QueryCountHolder;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리포지토리 메서드별 지연시간, 반환 건수, 실행 sql 수, 영속성 컨텍스트 크기 기록
+ * 미터는 (리포지토리, 메서드) 별로 한 번만 만들어서 캐시한다.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final Map<MethodKey, MethodMeters> meters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Around("study.data_jpa.support.metrics.RepositoryPointcuts.repositoryBeans()")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodMeters methodMeters = meters.computeIfAbsent(
+                new MethodKey(joinPoint.getThis().getClass(), ((MethodSignature) joinPoint.getSignature()).getMethod()),
+                this::createMeters);
+
+        long statementsBefore = QueryCountHolder.total();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            methodMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            methodMeters.rows.record(rows(result));
+            return result;
+        } catch (Throwable e) {
+            methodMeters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            methodMeters.statements.record(QueryCountHolder.total() - statementsBefore);
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                methodMeters.persistenceContextSize.record(
+                        em.unwrap(SessionImplementor.class).getPersistenceContextInternal().getNumberOfManagedEntities());
+            }
+        }
+    }
+
+    private MethodMeters createMeters(MethodKey key) {
+        String repository = repositoryNames.computeIfAbsent(key.proxyClass, RepositoryMetricsAspect::repositoryName);
+        String method = key.method.getName();
+        return new MethodMeters(
+                timer(repository, method, "success"),
+                timer(repository, method, "error"),
+                summary("repository.rows", repository, method),
+                summary("repository.statements", repository, method),
+                summary("repository.persistence-context.size", repository, method));
+    }
+
+    private Timer timer(String repository, String method, String outcome) {
+        return Timer.builder("repository.invocations")
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private DistributionSummary summary(String name, String repository, String method) {
+        return DistributionSummary.builder(name)
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(registry);
+    }
+
+    // spring data 리포지토리는 jdk 프록시라서 우리 패키지의 인터페이스 이름을 사용
+    private static String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : ClassUtils.getAllInterfacesForClass(proxyClass)) {
+            if (type.getName().startsWith("study.data_jpa.repository.")) {
+                return type.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(proxyClass).getSimpleName();
+    }
+
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+
+    private record MethodKey(Class<?> proxyClass, Method method) {
+    }
+
+    private record MethodMeters(Timer success, Timer error, DistributionSummary rows,
+                                DistributionSummary statements, DistributionSummary persistenceContextSize) {
+    }
+}
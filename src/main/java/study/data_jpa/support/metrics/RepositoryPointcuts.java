@@ -0,0 +1,11 @@
+package study.data_jpa.support.metrics;
+
+import org.aspectj.lang.annotation.Pointcut;
+
+public class RepositoryPointcuts {
+
+    @Pointcut("bean(memberRepository) || bean(teamRepository) || bean(itemRepository)" +
+            " || bean(memberJpaRepository) || bean(teamJpaRepository)")
+    public void repositoryBeans() {
+    }
+}
@@ -0,0 +1,39 @@
+package study.data_jpa.support.persistencecontext;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 반복해서 조회/저장하는 긴 트랜잭션 표시
+ * 이 범위 안에서는 리포지토리 호출 후 영속성 컨텍스트가 임계치를 넘으면 PersistenceContextGuard 가 flush 후 비운다.
+ * 비워진 엔티티는 준영속이 되므로, 이전에 받은 엔티티를 계속 들고 수정하는 코드에는 사용하지 않는다.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional
+public @interface BatchTransaction {
+
+    /**
+     * 관리 엔티티 수 임계치 (0 이하면 app.persistence-context.max-managed-entities)
+     */
+    int maxManagedEntities() default 0;
+
+    Mode mode() default Mode.DETACH_OLDEST;
+
+    enum Mode {
+        /**
+         * flush 후 전체 clear
+         */
+        CLEAR,
+        /**
+         * flush 후 오래된 엔티티부터 임계치의 retain-ratio 까지 detach (최근 반환한 엔티티는 유지)
+         */
+        DETACH_OLDEST
+    }
+}
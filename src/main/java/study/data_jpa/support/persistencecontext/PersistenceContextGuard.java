@@ -0,0 +1,131 @@
+package study.data_jpa.support.persistencecontext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * @BatchTransaction 범위에서 리포지토리 호출마다 영속성 컨텍스트 크기를 확인하고,
+ * 임계치를 넘으면 flush 후 clear(또는 오래된 엔티티부터 detach) 해서 힙 사용량과 flush 시 변경 감지 비용을 제한한다.
+ */
+@Slf4j
+@Aspect
+@Component
+public class PersistenceContextGuard {
+
+    private static final ThreadLocal<Limit> CURRENT = new ThreadLocal<>();
+
+    private final PersistenceContextGuardProperties properties;
+    private final DistributionSummary managedEntities;
+    private final DistributionSummary estimatedSize;
+    private final Counter clears;
+    private final Counter detaches;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public PersistenceContextGuard(PersistenceContextGuardProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.managedEntities = DistributionSummary.builder("persistence-context.managed-entities")
+                .description("@BatchTransaction 안의 리포지토리 호출 후 관리 엔티티 수")
+                .register(registry);
+        this.estimatedSize = DistributionSummary.builder("persistence-context.estimated-size")
+                .baseUnit("bytes")
+                .register(registry);
+        this.clears = guardCounter(registry, BatchTransaction.Mode.CLEAR);
+        this.detaches = guardCounter(registry, BatchTransaction.Mode.DETACH_OLDEST);
+    }
+
+    private static Counter guardCounter(MeterRegistry registry, BatchTransaction.Mode mode) {
+        return Counter.builder("persistence-context.guard")
+                .tag("mode", mode.name())
+                .register(registry);
+    }
+
+    @Around("@annotation(study.data_jpa.support.persistencecontext.BatchTransaction)" +
+            " || @within(study.data_jpa.support.persistencecontext.BatchTransaction)")
+    public Object batchScope(ProceedingJoinPoint joinPoint) throws Throwable {
+        // 중첩 호출은 바깥 범위 설정을 그대로 사용
+        if (CURRENT.get() != null) {
+            return joinPoint.proceed();
+        }
+
+        CURRENT.set(limit(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    @Around("study.data_jpa.support.metrics.RepositoryPointcuts.repositoryBeans()")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+
+        Limit limit = CURRENT.get();
+        if (limit == null
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return result;
+        }
+
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        int managed = session.getPersistenceContextInternal().getNumberOfManagedEntities();
+        managedEntities.record(managed);
+        estimatedSize.record((double) managed * properties.getEntitySize().toBytes());
+
+        if (managed > limit.maxManagedEntities) {
+            shrink(session, limit, managed);
+        }
+        return result;
+    }
+
+    private void shrink(SessionImplementor session, Limit limit, int managed) {
+        session.flush();
+        if (limit.mode == BatchTransaction.Mode.CLEAR) {
+            session.clear();
+            clears.increment();
+            log.debug("persistence context cleared. managed={}", managed);
+            return;
+        }
+
+        // EntityEntryContext 는 등록 순서를 유지하므로 앞쪽이 오래된 엔티티
+        int retain = (int) (limit.maxManagedEntities * properties.getRetainRatio());
+        int toDetach = managed - retain;
+        for (Map.Entry<Object, EntityEntry> entry : session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+            if (toDetach-- <= 0) {
+                break;
+            }
+            session.detach(entry.getKey());
+        }
+        detaches.increment();
+        log.debug("persistence context detached. managed={}, retain={}", managed, retain);
+    }
+
+    private Limit limit(ProceedingJoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        BatchTransaction annotation = AnnotatedElementUtils.findMergedAnnotation(signature.getMethod(), BatchTransaction.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), BatchTransaction.class);
+        }
+        int max = annotation.maxManagedEntities() > 0 ? annotation.maxManagedEntities() : properties.getMaxManagedEntities();
+        return new Limit(max, annotation.mode());
+    }
+
+    private record Limit(int maxManagedEntities, BatchTransaction.Mode mode) {
+    }
+}
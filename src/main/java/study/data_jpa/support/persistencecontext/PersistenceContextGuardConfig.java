@@ -0,0 +1,9 @@
+package study.data_jpa.support.persistencecontext;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PersistenceContextGuardProperties.class)
+public class PersistenceContextGuardConfig {
+}
@@ -0,0 +1,27 @@
+package study.data_jpa.support.persistencecontext;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.persistence-context")
+public class PersistenceContextGuardProperties {
+
+    /**
+     * @BatchTransaction 안에서 허용하는 관리 엔티티 수
+     */
+    private int maxManagedEntities = 1000;
+
+    /**
+     * DETACH_OLDEST 모드에서 정리 후 남길 비율 (임계치 대비)
+     */
+    private double retainRatio = 0.5;
+
+    /**
+     * 엔티티 하나당 추정 메모리 (엔티티 + 스냅샷 + EntityEntry), 크기 추정 지표용
+     */
+    private DataSize entitySize = DataSize.ofBytes(512);
+}
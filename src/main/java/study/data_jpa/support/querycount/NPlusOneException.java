@@ -0,0 +1,8 @@
+package study.data_jpa.support.querycount;
+
+public class NPlusOneException extends IllegalStateException {
+
+    public NPlusOneException(String scope, long count, int threshold) {
+        super("N+1 suspected: " + count + " statements in " + scope + " (threshold " + threshold + ")");
+    }
+}
@@ -0,0 +1,23 @@
+package study.data_jpa.support.querycount;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(QueryCountProperties.class)
+public class QueryCountConfig implements WebMvcConfigurer {
+
+    // p6spy starter 가 JdbcEventListener 빈을 자동으로 등록한다
+    @Bean
+    public QueryCountListener queryCountListener(QueryCountProperties properties) {
+        return new QueryCountListener(properties);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryCountInterceptor());
+    }
+}
@@ -0,0 +1,72 @@
+package study.data_jpa.support.querycount;
+
+/**
+ * 스레드별 sql 실행 횟수
+ * 요청(QueryCountInterceptor) 또는 트랜잭션 단위로 scope 를 시작/종료한다.
+ */
+public final class QueryCountHolder {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    // scope 와 무관하게 스레드에서 실행된 전체 sql 수 (메트릭에서 전후 차이로 사용)
+    private static final ThreadLocal<long[]> TOTAL = ThreadLocal.withInitial(() -> new long[1]);
+
+    private QueryCountHolder() {
+    }
+
+    public static void start(String name) {
+        CURRENT.set(new Scope(name));
+    }
+
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    public static Scope end() {
+        Scope scope = CURRENT.get();
+        CURRENT.remove();
+        return scope;
+    }
+
+    public static long count() {
+        Scope scope = CURRENT.get();
+        return scope == null ? 0 : scope.count;
+    }
+
+    public static long total() {
+        return TOTAL.get()[0];
+    }
+
+    static void incrementTotal() {
+        TOTAL.get()[0]++;
+    }
+
+    public static class Scope {
+
+        private final String name;
+        private long count;
+        private boolean reported;
+
+        Scope(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        long increment() {
+            return ++count;
+        }
+
+        boolean markReported() {
+            boolean first = !reported;
+            reported = true;
+            return first;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package study.data_jpa.support.querycount;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Slf4j
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountHolder.start(request.getMethod() + " " + request.getRequestURI());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryCountHolder.Scope scope = QueryCountHolder.end();
+        if (scope != null) {
+            log.debug("{} executed {} statements", scope.getName(), scope.getCount());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package study.data_jpa.support.querycount;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy 로 실행되는 모든 statement 를 세어서 threshold 를 넘으면 경고(또는 예외)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryCountListener extends SimpleJdbcEventListener {
+
+    private final QueryCountProperties properties;
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        QueryCountHolder.incrementTotal();
+        QueryCountHolder.Scope scope = QueryCountHolder.current();
+        if (scope == null) {
+            scope = startTransactionScope();
+            if (scope == null) {
+                return;
+            }
+        }
+
+        long count = scope.increment();
+        if (count > properties.getThreshold() && scope.markReported()) {
+            if (properties.isFailOnExceed()) {
+                throw new NPlusOneException(scope.getName(), count, properties.getThreshold());
+            }
+            log.warn("N+1 suspected: {} statements in {} (threshold {}), last sql: {}",
+                    count, scope.getName(), properties.getThreshold(), statementInformation.getSqlWithValues());
+        }
+    }
+
+    // 요청 밖(배치, 테스트)에서는 트랜잭션 단위로 센다
+    private QueryCountHolder.Scope startTransactionScope() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        QueryCountHolder.start("tx " + (name == null ? "anonymous" : name));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                QueryCountHolder.end();
+            }
+        });
+        return QueryCountHolder.current();
+    }
+}
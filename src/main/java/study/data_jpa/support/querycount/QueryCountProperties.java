@@ -0,0 +1,21 @@
+package study.data_jpa.support.querycount;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.query-count")
+public class QueryCountProperties {
+
+    /**
+     * 한 요청/트랜잭션에서 허용하는 sql 실행 횟수
+     */
+    private int threshold = 10;
+
+    /**
+     * true 면 threshold 초과 시 NPlusOneException 을 던진다 (테스트용)
+     */
+    private boolean failOnExceed = false;
+}
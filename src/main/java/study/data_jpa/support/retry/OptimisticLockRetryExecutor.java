@@ -0,0 +1,95 @@
+package study.data_jpa.support.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StaleStateException;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * 낙관적 락 충돌 시 작업 단위를 새 트랜잭션(REQUIRES_NEW)으로 다시 실행한다.
+ * 재시도 사이에는 지수 백오프 + full jitter 로 대기해서 충돌한 스레드들이 같은 시점에 다시 부딪히지 않게 한다.
+ * 작업은 매 시도마다 엔티티를 다시 조회해야 한다 (이전 시도의 엔티티는 준영속 + 오래된 버전).
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(OptimisticLockRetryProperties.class)
+public class OptimisticLockRetryExecutor {
+
+    private final OptimisticLockRetryProperties properties;
+    private final TransactionTemplate tx;
+    private final Counter retries;
+    private final Counter exhausted;
+
+    public OptimisticLockRetryExecutor(OptimisticLockRetryProperties properties,
+                                       PlatformTransactionManager transactionManager,
+                                       MeterRegistry registry) {
+        this.properties = properties;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.retries = Counter.builder("optimistic-lock.retries").register(registry);
+        this.exhausted = Counter.builder("optimistic-lock.exhausted").register(registry);
+    }
+
+    public <T> T execute(TransactionCallback<T> work) {
+        int maxAttempts = Math.max(1, properties.getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tx.execute(work);
+            } catch (RuntimeException e) {
+                if (!isOptimisticLockFailure(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw e;
+                }
+                retries.increment();
+                log.debug("optimistic lock conflict, retry {}/{}", attempt, maxAttempts);
+                backoff(attempt);
+            }
+        }
+    }
+
+    public void run(Consumer<TransactionStatus> work) {
+        execute(status -> {
+            work.accept(status);
+            return null;
+        });
+    }
+
+    private void backoff(int attempt) {
+        long cap = Math.min(properties.getMaxBackoff().toNanos(),
+                properties.getInitialBackoff().toNanos() << Math.min(attempt - 1, 20));
+        long sleep = ThreadLocalRandom.current().nextLong(cap + 1);
+        try {
+            Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting to retry", e);
+        }
+    }
+
+    // 커밋 시점 flush 에서 나면 스프링 변환 전의 jpa/hibernate 예외가 cause 로 감싸져 올 수 있다
+    private static boolean isOptimisticLockFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof OptimisticLockingFailureException
+                    || t instanceof OptimisticLockException
+                    || t instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
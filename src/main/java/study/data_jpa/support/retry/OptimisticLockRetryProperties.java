@@ -0,0 +1,25 @@
+package study.data_jpa.support.retry;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.optimistic-retry")
+public class OptimisticLockRetryProperties {
+
+    /**
+     * 첫 시도를 포함한 최대 시도 횟수
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * 첫 재시도 대기 시간 (시도마다 2배, max-backoff 까지)
+     */
+    private Duration initialBackoff = Duration.ofMillis(5);
+
+    private Duration maxBackoff = Duration.ofMillis(200);
+}
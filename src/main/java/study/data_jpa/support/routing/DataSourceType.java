@@ -0,0 +1,5 @@
+package study.data_jpa.support.routing;
+
+public enum DataSourceType {
+    PRIMARY, REPLICA
+}
@@ -0,0 +1,65 @@
+package study.data_jpa.support.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * replica 상태를 주기적으로 확인
+ * lag-query 가 설정되어 있으면 지연(초)을 조회해서 max-lag 를 넘으면 replica 를 쓰지 않는다.
+ * ex) postgresql: select extract(epoch from now() - pg_last_xact_replay_timestamp())
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replicaDataSource;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile boolean replicaUsable = true;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, Duration maxLag) {
+        this.replicaDataSource = replicaDataSource;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.check-interval:5s}")
+    public void check() {
+        boolean usable = probe();
+        if (usable != replicaUsable) {
+            log.warn("replica {}", usable ? "recovered, routing reads to replica" : "unavailable or lagging, routing reads to primary");
+        }
+        replicaUsable = usable;
+    }
+
+    private boolean probe() {
+        try (Connection connection = replicaDataSource.getConnection()) {
+            if (!StringUtils.hasText(lagQuery)) {
+                return connection.isValid(1);
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                if (!rs.next()) {
+                    return false;
+                }
+                double lagSeconds = rs.getDouble(1);
+                return !rs.wasNull() && lagSeconds * 1000 <= maxLag.toMillis();
+            }
+        } catch (SQLException e) {
+            log.debug("replica probe failed", e);
+            return false;
+        }
+    }
+}
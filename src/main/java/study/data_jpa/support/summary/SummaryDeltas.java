@@ -0,0 +1,27 @@
+package study.data_jpa.support.summary;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 한 번의 flush 동안 모은 팀별 변경분
+ */
+class SummaryDeltas {
+
+    final Map<Long, long[]> counts = new HashMap<>();
+    final Set<Long> created = new LinkedHashSet<>();
+    final Map<Long, String> renamed = new HashMap<>();
+    final Set<Long> deleted = new HashSet<>();
+
+    void add(Long teamId, long memberCount, long ageSum) {
+        if (teamId == null) {
+            return;
+        }
+        long[] delta = counts.computeIfAbsent(teamId, id -> new long[2]);
+        delta[0] += memberCount;
+        delta[1] += ageSum;
+    }
+}
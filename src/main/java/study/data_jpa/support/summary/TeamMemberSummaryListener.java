@@ -0,0 +1,161 @@
+package study.data_jpa.support.summary;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Member/Team 의 insert, update, delete 를 모아서 flush 가 끝날 때 team_member_summary 에 반영
+ * flush 중에는 jdbc batch 가 아직 실행되지 않았을 수 있으므로 flush 이후(같은 트랜잭션)에 갱신한다.
+ */
+public class TeamMemberSummaryListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener, FlushEventListener, AutoFlushEventListener {
+
+    private final Map<EventSource, SummaryDeltas> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            deltas(event.getSession()).add(teamId(member.getTeam()), 1, member.getAge());
+        } else if (event.getEntity() instanceof Team team) {
+            deltas(event.getSession()).created.add(team.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            Object[] oldState = event.getOldState();
+            Long newTeamId = teamId(member.getTeam());
+            if (oldState == null) {
+                // 이전 상태를 모르면 flush 후 집계로 다시 계산
+                deltas(event.getSession()).created.add(newTeamId);
+                return;
+            }
+            EntityPersister persister = event.getPersister();
+            Long oldTeamId = teamId(oldState[persister.getEntityMetamodel().getPropertyIndex("team")]);
+            int oldAge = (Integer) oldState[persister.getEntityMetamodel().getPropertyIndex("age")];
+
+            SummaryDeltas deltas = deltas(event.getSession());
+            if (Objects.equals(oldTeamId, newTeamId)) {
+                deltas.add(newTeamId, 0, member.getAge() - oldAge);
+            } else {
+                deltas.add(oldTeamId, -1, -oldAge);
+                deltas.add(newTeamId, 1, member.getAge());
+            }
+        } else if (event.getEntity() instanceof Team team) {
+            deltas(event.getSession()).renamed.put(team.getId(), team.getName());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            deltas(event.getSession()).add(teamId(member.getTeam()), -1, -member.getAge());
+        } else if (event.getEntity() instanceof Team team) {
+            deltas(event.getSession()).deleted.add(team.getId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onFlush(FlushEvent event) {
+        apply(event.getSession());
+    }
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) {
+        apply(event.getSession());
+    }
+
+    private SummaryDeltas deltas(EventSource session) {
+        return pending.computeIfAbsent(session, s -> {
+            // flush 가 실패해서 apply 까지 가지 못해도 트랜잭션이 끝나면(커밋/롤백) 버린다
+            s.getActionQueue().registerProcess(
+                    (AfterTransactionCompletionProcess) (success, completed) -> pending.remove(s));
+            return new SummaryDeltas();
+        });
+    }
+
+    private void apply(EventSource session) {
+        SummaryDeltas deltas = pending.remove(session);
+        if (deltas == null) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "update team_member_summary set member_count = member_count + ?, age_sum = age_sum + ? where team_id = ?")) {
+                for (Map.Entry<Long, long[]> entry : deltas.counts.entrySet()) {
+                    if (deltas.created.contains(entry.getKey())) {
+                        continue;
+                    }
+                    update.setLong(1, entry.getValue()[0]);
+                    update.setLong(2, entry.getValue()[1]);
+                    update.setLong(3, entry.getKey());
+                    if (update.executeUpdate() == 0) {
+                        deltas.created.add(entry.getKey());
+                    }
+                }
+            }
+            // 요약 row 가 없는 팀은 현재 member 테이블로 집계해서 만든다
+            try (PreparedStatement refresh = connection.prepareStatement(
+                    "delete from team_member_summary where team_id = ?");
+                 PreparedStatement insert = connection.prepareStatement(
+                         "insert into team_member_summary (team_id, team_name, member_count, age_sum)" +
+                                 " select t.team_id, t.name," +
+                                 " (select count(*) from member m where m.team_id = t.team_id)," +
+                                 " (select coalesce(sum(m.age), 0) from member m where m.team_id = t.team_id)" +
+                                 " from team t where t.team_id = ?")) {
+                for (Long teamId : deltas.created) {
+                    if (teamId == null) {
+                        continue;
+                    }
+                    refresh.setLong(1, teamId);
+                    refresh.executeUpdate();
+                    insert.setLong(1, teamId);
+                    insert.executeUpdate();
+                }
+            }
+            try (PreparedStatement rename = connection.prepareStatement(
+                    "update team_member_summary set team_name = ? where team_id = ?")) {
+                for (Map.Entry<Long, String> entry : deltas.renamed.entrySet()) {
+                    rename.setString(1, entry.getValue());
+                    rename.setLong(2, entry.getKey());
+                    rename.executeUpdate();
+                }
+            }
+            try (PreparedStatement delete = connection.prepareStatement(
+                    "delete from team_member_summary where team_id = ?")) {
+                for (Long teamId : deltas.deleted) {
+                    delete.setLong(1, teamId);
+                    delete.executeUpdate();
+                }
+            }
+        });
+    }
+
+    private static Long teamId(Object team) {
+        return team instanceof Team t ? t.getId() : null;
+    }
+}
@@ -0,0 +1,70 @@
+package study.data_jpa.support.summary;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * team_member_summary 전체 재생성 / 검증
+ */
+@Slf4j
+@Component
+public class TeamMemberSummaryRebuilder {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Transactional
+    public int rebuild() {
+        em.createQuery("delete from TeamMemberSummary").executeUpdate();
+        int rows = em.createQuery("insert into TeamMemberSummary (teamId, teamName, memberCount, ageSum)" +
+                        " select t.id, t.name, count(m), coalesce(sum(m.age), 0)" +
+                        " from Team t left join t.members m" +
+                        " group by t.id, t.name")
+                .executeUpdate();
+        em.clear();
+        log.info("team_member_summary rebuilt, {} teams", rows);
+        return rows;
+    }
+
+    /**
+     * 집계 결과와 다른 팀 id 목록
+     */
+    @Transactional(readOnly = true)
+    public List<Long> verify() {
+        List<Object[]> actual = em.createQuery("select t.id, t.name, count(m), coalesce(sum(m.age), 0)," +
+                        " s.teamName, s.memberCount, s.ageSum" +
+                        " from Team t left join t.members m" +
+                        " left join TeamMemberSummary s on s.teamId = t.id" +
+                        " group by t.id, t.name, s.teamName, s.memberCount, s.ageSum", Object[].class)
+                .getResultList();
+
+        List<Long> mismatched = new ArrayList<>();
+        for (Object[] row : actual) {
+            boolean same = Objects.equals(row[1], row[4])
+                    && Objects.equals(((Number) row[2]).longValue(), row[5])
+                    && Objects.equals(((Number) row[3]).longValue(), row[6]);
+            if (!same) {
+                mismatched.add((Long) row[0]);
+            }
+        }
+        return mismatched;
+    }
+
+    // app.summary.verify-cron 을 설정하면 주기적으로 검증해서 어긋나면 재생성
+    @Scheduled(cron = "${app.summary.verify-cron:-}")
+    public void verifyAndRepair() {
+        List<Long> mismatched = verify();
+        if (!mismatched.isEmpty()) {
+            log.warn("team_member_summary mismatched for teams {}, rebuilding", mismatched);
+            rebuild();
+        }
+    }
+}
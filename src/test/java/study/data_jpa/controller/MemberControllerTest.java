@@ -0,0 +1,110 @@
+package study.data_jpa.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberRepository;
+import study.data_jpa.support.change.MemberChangeTracker;
+import study.data_jpa.support.retry.OptimisticLockRetryExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 커밋 후 이벤트로 세대가 바뀌므로 테스트 트랜잭션 없이 실행
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    OptimisticLockRetryExecutor retryExecutor;
+
+    @Autowired
+    MemberChangeTracker memberChangeTracker;
+
+    List<Long> memberIds = new ArrayList<>();
+
+    // 커밋된 데이터라 다른 테스트에 영향이 없도록 지운다
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllById(memberIds);
+    }
+
+    @Test
+    public void conditionalGetMember() throws Exception {
+        Long id = memberRepository.save(new Member("etag1", 10)).getId();
+        memberIds.add(id);
+
+        String etag = mockMvc.perform(get("/members/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(content().string("etag1"))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // 재기동 후 같은 id/version 과 구분되도록 기동 시각(epoch)이 들어간다
+        assertThat(etag).isEqualTo(memberChangeTracker.etag("member-" + id, 0));
+
+        mockMvc.perform(get("/members/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        retryExecutor.run(status -> memberRepository.findById(id).get().setUsername("etag2"));
+
+        mockMvc.perform(get("/members/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string("etag2"));
+    }
+
+    @Test
+    public void conditionalGetMemberList() throws Exception {
+        String etag = mockMvc.perform(get("/members"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/members").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // 회원이 추가되면 목록 ETag 가 바뀐다
+        memberIds.add(memberRepository.save(new Member("etagList", 10)).getId());
+
+        mockMvc.perform(get("/members").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void batchDeleteChangesListEtag() throws Exception {
+        Long id = memberRepository.save(new Member("etagDelete", 10)).getId();
+
+        String etag = mockMvc.perform(get("/members"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 벌크 삭제는 엔티티 이벤트가 없어도 커밋 후 세대가 바뀐다
+        memberRepository.deleteAllByIdInBatch(List.of(id));
+
+        mockMvc.perform(get("/members").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void invalidSortOrCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/members").param("sort", "team.name"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members/scroll").param("cursor", "!!!"))
+                .andExpect(status().isBadRequest());
+    }
+}
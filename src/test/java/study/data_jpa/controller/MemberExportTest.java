@@ -0,0 +1,111 @@
+package study.data_jpa.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+import study.data_jpa.repository.MemberRepository;
+import study.data_jpa.repository.MemberStreamRepository;
+import study.data_jpa.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// StatelessSession 이 별도 커넥션으로 읽으므로 테스트 트랜잭션 없이 실행
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberExportTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    MemberStreamRepository memberStreamRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityManager em;
+
+    List<Long> memberIds = new ArrayList<>();
+    List<Long> teamIds = new ArrayList<>();
+
+    // 커밋된 데이터라 다른 테스트에 영향이 없도록 지운다
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllById(memberIds);
+        teamRepository.deleteAllById(teamIds);
+    }
+
+    @Test
+    public void exportMembersAsNdjson() throws Exception {
+        Team team = teamRepository.save(new Team("exportTeam"));
+        teamIds.add(team.getId());
+        memberIds.add(memberRepository.save(new Member("export1", 10, team)).getId());
+        memberIds.add(memberRepository.save(new Member("export2", 20)).getId());
+
+        MvcResult started = mockMvc.perform(get("/members/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        // 한 줄에 json 하나
+        Map<Long, JsonNode> byId = new HashMap<>();
+        for (String line : body.split("\\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            byId.put(node.get("id").asLong(), node);
+        }
+        assertThat(byId.get(memberIds.get(0)).get("username").asText()).isEqualTo("export1");
+        assertThat(byId.get(memberIds.get(0)).get("teamname").asText()).isEqualTo("exportTeam");
+        assertThat(byId.get(memberIds.get(1)).get("teamname").isNull()).isTrue();
+    }
+
+    @Test
+    public void streamKeepsPersistenceContextEmpty() {
+        memberIds.add(memberRepository.save(new Member("export3", 30)).getId());
+
+        // 스트리밍 중에도 현재 영속성 컨텍스트에 엔티티가 쌓이지 않는다
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            long exported = memberStreamRepository.streamMemberDto(dto -> assertThat(managedEntities()).isZero());
+            assertThat(exported).isGreaterThanOrEqualTo(1);
+            assertThat(managedEntities()).isZero();
+        });
+    }
+
+    private int managedEntities() {
+        return em.unwrap(SessionImplementor.class).getPersistenceContextInternal().getNumberOfManagedEntities();
+    }
+}
@@ -10,7 +10,9 @@ import study.data_jpa.repository.MemberRepository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -73,4 +75,21 @@ class MemberTest {
         System.out.println("findMember.getCreatedBy() = " + findMember.getCreatedBy());
         System.out.println("findMember.getModifiedBy() = " + findMember.getModifiedBy());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void auditStampSharedInFlush() {
+        Member member1 = memberRepository.save(new Member("audit1"));
+        Member member2 = memberRepository.save(new Member("audit2"));
+
+        em.flush();
+
+        // 같은 트랜잭션/flush 안에서는 auditor 와 시각을 공유
+        assertThat(member1.getCreatedBy()).isNotNull();
+        assertThat(member1.getCreatedBy()).isEqualTo(member2.getCreatedBy());
+        UUID auditor = UUID.fromString(member1.getCreatedBy());
+        assertThat(auditor.version()).isEqualTo(4);
+        assertThat(auditor.variant()).isEqualTo(2);
+        assertThat(member1.getCreatedDate()).isEqualTo(member2.getCreatedDate());
+        assertThat(member1.getModifiedDate()).isEqualTo(member1.getCreatedDate());
+    }
+}
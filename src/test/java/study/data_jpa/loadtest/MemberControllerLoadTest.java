@@ -0,0 +1,131 @@
+package study.data_jpa.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.data_jpa.DataJpaApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 플랫폼 스레드 vs 가상 스레드 모드의 /members, /members/{id} 처리량과 tail latency 비교
+ * ./gradlew loadTest -Dloadtest.concurrency=400 -Dloadtest.requests=20000
+ * 가상 스레드 모드는 java 21 이상에서 실행할 때만 측정한다.
+ */
+@Tag("load")
+class MemberControllerLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberControllerLoadTest.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 200);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 10_000);
+
+    @Test
+    public void compareThreadModes() throws Exception {
+        List<String> report = new ArrayList<>();
+        report.addAll(run("platform"));
+        if (Runtime.version().feature() >= 21) {
+            report.addAll(run("virtual"));
+        } else {
+            report.add("virtual  : skipped (java " + Runtime.version().feature() + ")");
+        }
+        report.forEach(log::info);
+    }
+
+    private List<String> run(String mode) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .profiles(mode.equals("virtual") ? new String[]{"virtual"} : new String[0])
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://localhost:" + port;
+            return List.of(
+                    measure(mode, "/members", () -> base + "/members?page=" + ThreadLocalRandom.current().nextInt(30)),
+                    measure(mode, "/members/{id}", () -> base + "/members/" + ThreadLocalRandom.current().nextInt(1, 100)));
+        }
+    }
+
+    private String measure(String mode, String name, UrlSupplier url) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            // warm up
+            AtomicInteger warmUpFailures = new AtomicInteger();
+            send(client, url, executor, REQUESTS / 10, warmUpFailures);
+
+            AtomicInteger failures = new AtomicInteger();
+            long start = System.nanoTime();
+            long[] latencies = send(client, url, executor, REQUESTS, failures);
+            long elapsed = System.nanoTime() - start;
+
+            // 에러 응답이 빠르게 끝나서 수치가 좋아 보이지 않도록 실패가 있으면 측정 실패
+            assertThat(warmUpFailures.get() + failures.get())
+                    .as("%s %s non-2xx responses", mode, name)
+                    .isZero();
+
+            Arrays.sort(latencies);
+            return String.format("%-9s: %-14s %8.0f req/s  p50 %6.2f ms  p99 %6.2f ms  max %6.2f ms  failures %d",
+                    mode, name,
+                    REQUESTS / (elapsed / 1_000_000_000.0),
+                    percentile(latencies, 0.50),
+                    percentile(latencies, 0.99),
+                    latencies[latencies.length - 1] / 1_000_000.0,
+                    failures.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long[] send(HttpClient client, UrlSupplier url, ExecutorService executor, int count,
+                        AtomicInteger failures) throws Exception {
+        List<Future<Long>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url.get())).GET().build();
+            futures.add(executor.submit(() -> {
+                long begin = System.nanoTime();
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                long latency = System.nanoTime() - begin;
+                if (response.statusCode() / 100 != 2) {
+                    if (failures.getAndIncrement() == 0) {
+                        log.warn("non-2xx response {} {}", response.statusCode(), request.uri());
+                    }
+                }
+                return latency;
+            }));
+        }
+        long[] latencies = new long[count];
+        for (int i = 0; i < count; i++) {
+            latencies[i] = futures.get(i).get();
+        }
+        return latencies;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    private interface UrlSupplier {
+        String get();
+    }
+}
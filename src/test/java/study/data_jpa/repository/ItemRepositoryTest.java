@@ -1,10 +1,17 @@
 package study.data_jpa.repository;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import study.data_jpa.entity.Item;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -13,9 +20,34 @@ class ItemRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    // 커밋된 데이터라 다른 테스트에 영향이 없도록 지운다
+    @AfterEach
+    void cleanUp() {
+        itemRepository.deleteAllById(List.of("U1", "U2", "U3"));
+    }
+
     @Test
     public void item() {
         Item item = new Item("A");
         itemRepository.save(item);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void upsertAll() {
+        List<Item> items = List.of(new Item("U1"), new Item("U2"), new Item("U3"));
+
+        assertThat(itemRepository.upsertAll(items)).isEqualTo(3);
+        Map<String, LocalDateTime> created = createdDates();
+
+        // 이미 있는 item 은 건드리지 않는다
+        assertThat(itemRepository.upsertAll(items)).isZero();
+
+        assertThat(created).hasSize(3).doesNotContainValue(null);
+        assertThat(createdDates()).isEqualTo(created);
+    }
+
+    private Map<String, LocalDateTime> createdDates() {
+        return itemRepository.findAllById(List.of("U1", "U2", "U3")).stream()
+                .collect(Collectors.toMap(Item::getId, Item::getCreatedDate));
+    }
+}
@@ -0,0 +1,143 @@
+package study.data_jpa.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.support.change.MemberChangeTracker;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 별도 트랜잭션으로 커밋하므로 테스트 트랜잭션 없이 실행
+@SpringBootTest
+class MemberAgeAccumulatorTest {
+
+    @Autowired
+    MemberAgeAccumulator memberAgeAccumulator;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberChangeTracker memberChangeTracker;
+
+    List<Long> memberIds = new ArrayList<>();
+
+    // 커밋된 데이터라 다른 테스트에 영향이 없도록 지운다
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllById(memberIds);
+    }
+
+    @Test
+    public void accumulateAndFlush() throws InterruptedException {
+        Member member = save(new Member("accumulator1", 8000));
+        Long id = member.getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 1_000; i++) {
+            executor.submit(() -> memberAgeAccumulator.add(id, 1));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // 반영 전에도 조회하면 증가분이 보인다
+        assertThat(memberAgeAccumulator.findById(id).get().getAge()).isEqualTo(9000);
+
+        memberAgeAccumulator.flush();
+
+        Member flushed = memberRepository.findById(id).get();
+        assertThat(memberAgeAccumulator.pending(id)).isZero();
+        assertThat(flushed.getAge()).isEqualTo(9000);
+        assertThat(flushed.getVersion()).isGreaterThan(member.getVersion());
+    }
+
+    @Test
+    public void findByIdKeepsCallerEntityManaged() {
+        MemberAgeAccumulator accumulator = standalone(new SimpleMeterRegistry());
+        Long id = save(new Member("accumulator2", 8000)).getId();
+        accumulator.add(id, 5);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Member managed = memberRepository.findById(id).get();
+
+            assertThat(accumulator.findById(id).get().getAge()).isEqualTo(8005);
+            assertThat(em.contains(managed)).isTrue();
+            assertThat(managed.getAge()).isEqualTo(8000);
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    public void restoreDeltasWhenFlushFails() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MemberAgeAccumulator accumulator = standalone(registry);
+        Long id = save(new Member("accumulator3", 8000)).getId();
+
+        // int 컬럼 범위를 넘겨서 update 가 실패하게 한다
+        accumulator.add(id, Integer.MAX_VALUE);
+        accumulator.flush();
+
+        assertThat(registry.counter("member-age-accumulator.failures").count()).isEqualTo(1);
+        assertThat(accumulator.pending(id)).isEqualTo(Integer.MAX_VALUE);
+        assertThat(memberRepository.findById(id).get().getAge()).isEqualTo(8000);
+
+        // 되돌려 둔 증가분에 이어서 더해지고 다음 flush 에서 반영된다
+        accumulator.add(id, 1 - Integer.MAX_VALUE);
+        accumulator.flush();
+
+        assertThat(registry.counter("member-age-accumulator.flushes").count()).isEqualTo(1);
+        assertThat(accumulator.pending(id)).isZero();
+        assertThat(memberRepository.findById(id).get().getAge()).isEqualTo(8001);
+    }
+
+    @Test
+    public void flushOnShutdown() {
+        MemberAgeAccumulator accumulator = standalone(new SimpleMeterRegistry());
+        Long id = save(new Member("accumulator4", 8000)).getId();
+        accumulator.add(id, 3);
+
+        accumulator.flushOnShutdown();
+
+        assertThat(accumulator.pending(id)).isZero();
+        assertThat(memberRepository.findById(id).get().getAge()).isEqualTo(8003);
+    }
+
+    // 스케줄러가 끼어들지 않도록 빈이 아닌 인스턴스로 검증
+    private MemberAgeAccumulator standalone(SimpleMeterRegistry registry) {
+        return new MemberAgeAccumulator(memberRepository, jdbcTemplate, emf, transactionManager,
+                memberChangeTracker, registry, Duration.ofHours(1), 10_000);
+    }
+
+    private Member save(Member member) {
+        Member saved = memberRepository.save(member);
+        memberIds.add(saved.getId());
+        return saved;
+    }
+}
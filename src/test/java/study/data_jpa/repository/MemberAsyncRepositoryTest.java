@@ -0,0 +1,98 @@
+package study.data_jpa.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import study.data_jpa.dto.MemberDto;
+import study.data_jpa.dto.TeamDto;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 별도 스레드의 트랜잭션에서 조회하므로 테스트 트랜잭션 없이 실행 (커밋된 데이터만 보인다)
+@SpringBootTest
+class MemberAsyncRepositoryTest {
+
+    @Autowired
+    MemberAsyncRepository memberAsyncRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    List<Member> members = new ArrayList<>();
+    List<Team> teams = new ArrayList<>();
+
+    // 커밋된 데이터라 다른 테스트에 영향이 없도록 지운다
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch(members);
+        teamRepository.deleteAllInBatch(teams);
+    }
+
+    @Test
+    public void fanOut() {
+        Team team = teamRepository.save(new Team("asyncTeam"));
+        teams.add(team);
+        Member member = memberRepository.save(new Member("async1", 7001, team));
+        members.add(member);
+        members.add(memberRepository.save(new Member("async2", 7001, team)));
+
+        CompletableFuture<Optional<MemberDto>> memberFuture = memberAsyncRepository.findMemberDto(member.getId());
+        CompletableFuture<Optional<TeamDto>> teamFuture = memberAsyncRepository.findTeam(team.getId());
+        CompletableFuture<Page<MemberDto>> pageFuture = memberAsyncRepository.findByAge(7001, PageRequest.of(0, 10));
+        CompletableFuture.allOf(memberFuture, teamFuture, pageFuture).join();
+
+        assertThat(memberFuture.join().get().getTeamname()).isEqualTo("asyncTeam");
+        assertThat(teamFuture.join().get().getName()).isEqualTo("asyncTeam");
+        assertThat(pageFuture.join().getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    public void rejectedWhenPoolIsFull() throws Exception {
+        // 스레드 1개, 큐 없음
+        MemberAsyncRepository small = new MemberAsyncRepository(memberRepository, teamRepository, transactionManager, 1, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Long> busy = small.withMembers(repository -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return repository.count();
+            });
+            started.await();
+
+            CompletableFuture<Long> rejected = small.withMembers(MemberRepository::count);
+            assertThat(rejected).isCompletedExceptionally();
+            assertThatThrownBy(rejected::join).hasCauseInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            assertThat(busy.join()).isNotNull();
+        } finally {
+            release.countDown();
+            small.shutdown();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package study.data_jpa.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.data_jpa.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 청크마다 커밋하므로 테스트 트랜잭션 없이 실행
+@SpringBootTest
+class MemberBulkAgeUpdaterTest {
+
+    @Autowired
+    MemberBulkAgeUpdater memberBulkAgeUpdater;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    MeterRegistry registry;
+
+    List<Member> members = new ArrayList<>();
+
+    // 커밋된 데이터라 다른 테스트에 영향이 없도록 지운다
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch(members);
+    }
+
+    @Test
+    public void bulkAgePlus() {
+        for (int i = 1; i <= 5; i++) {
+            members.add(memberRepository.save(new Member("chunk" + i, 5000 + i)));
+        }
+
+        double rowsBefore = registry.get("member-bulk-update.rows").counter().count();
+
+        List<BulkUpdateProgress> progresses = new ArrayList<>();
+        BulkUpdateProgress result = memberBulkAgeUpdater.bulkAgePlus(5001, null, progresses::add);
+
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getUpdatedRows()).isEqualTo(4);
+        assertThat(progresses).isNotEmpty();
+        assertThat(registry.get("member-bulk-update.rows").counter().count() - rowsBefore).isEqualTo(4);
+        assertThat(registry.get("member-bulk-update.last-processed-id").gauge().value())
+                .isEqualTo(result.getLastProcessedId().doubleValue());
+
+        // 바뀐 회원만 2차 캐시에서 제거되고 나머지는 그대로 남는다
+        assertThat(emf.getCache().contains(Member.class, members.get(0).getId())).isTrue();
+        assertThat(emf.getCache().contains(Member.class, members.get(4).getId())).isFalse();
+        assertThat(memberRepository.findById(members.get(4).getId()).get().getAge()).isEqualTo(5006);
+
+        // 마지막 지점부터 재시작하면 더 처리할 것이 없다
+        BulkUpdateProgress resumed = memberBulkAgeUpdater.bulkAgePlus(5001, result.getLastProcessedId(), p -> {
+        });
+        assertThat(resumed.getUpdatedRows()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,94 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.support.id.IdGeneratorStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 별도 트랜잭션으로 커밋하므로 테스트 트랜잭션 없이 실행
+@SpringBootTest
+class MemberBulkWriterTest {
+
+    @Autowired
+    MemberBulkWriter memberBulkWriter;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    List<Member> members = new ArrayList<>();
+
+    // 커밋된 데이터라 다른 테스트에 영향이 없도록 지운다
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllByIdInBatch(members.stream().map(Member::getId).toList());
+    }
+
+    @Test
+    public void saveAll() {
+        long before = memberRepository.count();
+
+        long saved = memberBulkWriter.saveAll(newMembers("bulk", 1_000));
+
+        assertThat(saved).isEqualTo(1_000);
+        assertThat(memberRepository.count()).isEqualTo(before + 1_000);
+    }
+
+    @Test
+    public void pooledIdAllocation() {
+        IdGeneratorStats stats = IdGeneratorStats.all(emf).get("member_seq");
+        long callsBefore = stats.getSequenceCalls();
+
+        memberBulkWriter.saveAll(newMembers("pooled", 100));
+
+        // allocationSize 50: 100 건에 시퀀스 호출은 2~3 번
+        assertThat(stats.getStrategy()).isEqualTo("pooled-lo");
+        assertThat(stats.getSequenceCalls() - callsBefore).isBetween(1L, 3L);
+    }
+
+    @Test
+    public void keepsCallerPersistenceContext() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Member outer = new Member("outer", 1);
+            em.persist(outer);
+
+            memberBulkWriter.saveAll(newMembers("inner", 10));
+
+            // 적재 중 clear 가 바깥 트랜잭션의 엔티티를 분리하지 않는다
+            assertThat(em.contains(outer)).isTrue();
+            status.setRollbackOnly();
+        });
+
+        // 바깥 트랜잭션은 롤백되어도 적재한 데이터는 커밋되어 있다
+        assertThat(memberRepository.findAllById(members.stream().map(Member::getId).toList())).hasSize(10);
+    }
+
+    private Stream<Member> newMembers(String prefix, int count) {
+        List<Member> created = IntStream.range(0, count)
+                .mapToObj(i -> new Member(prefix + i, i % 50))
+                .toList();
+        members.addAll(created);
+        return created.stream();
+    }
+}
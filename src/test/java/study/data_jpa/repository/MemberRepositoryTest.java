@@ -1,6 +1,7 @@
 package study.data_jpa.repository;
 
 import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -13,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import study.data_jpa.dto.MemberDto;
 import study.data_jpa.entity.Member;
 import study.data_jpa.entity.Team;
+import study.data_jpa.support.querycount.QueryCountHolder;
 
 import java.util.Arrays;
 import java.util.List;
@@ -459,5 +461,172 @@ class MemberRepositoryTest {
         }
     }
 
+    @Test
+    public void findMemberKeyset() {
+        // username 이 null 인 회원은 asc 에서 맨 앞, desc 에서 맨 뒤
+        Member null1 = memberRepository.save(new Member((String) null, 10));
+        Member null2 = memberRepository.save(new Member((String) null, 10));
+        Member keyset2 = null;
+        for (int i = 1; i <= 5; i++) {
+            Member member = memberRepository.save(new Member("Akeyset" + i, 10));
+            if (i == 2) {
+                keyset2 = member;
+            }
+        }
+
+        em.flush();
+        em.clear();
+
+        CursorPage<Member> first = memberRepository.findMemberKeyset(null, 3, Sort.Direction.ASC);
+        CursorPage<Member> second = memberRepository.findMemberKeyset(first.getNextCursor(), 3, Sort.Direction.ASC);
+        CursorPage<Member> third = memberRepository.findMemberKeyset(second.getNextCursor(), 3, Sort.Direction.ASC);
+
+        assertThat(first.getContent()).extracting("username").containsExactly(null, null, "Akeyset1");
+        assertThat(first.getContent().subList(0, 2)).extracting("id").containsExactly(null1.getId(), null2.getId());
+        assertThat(second.getContent()).extracting("username").containsExactly("Akeyset2", "Akeyset3", "Akeyset4");
+        assertThat(third.getContent().get(0).getUsername()).isEqualTo("Akeyset5");
+        assertThat(first.isHasNext()).isTrue();
+
+        CursorPage<Member> desc = memberRepository.findMemberKeyset(MemberCursor.of(keyset2).encode(), 3, Sort.Direction.DESC);
+        assertThat(desc.getContent()).extracting("username").containsExactly("Akeyset1", null, null);
+        assertThat(desc.getContent().subList(1, 3)).extracting("id").containsExactly(null2.getId(), null1.getId());
+
+        CursorPage<Member> end = memberRepository.findMemberKeyset(MemberCursor.of(null1).encode(), 3, Sort.Direction.DESC);
+        assertThat(end.getContent()).isEmpty();
+        assertThat(end.isHasNext()).isFalse();
+        assertThat(end.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void memberCursorNullUsername() {
+        MemberCursor nullName = MemberCursor.decode(new MemberCursor(null, 1L).encode());
+        MemberCursor literalNull = MemberCursor.decode(new MemberCursor("null", 1L).encode());
+
+        assertThat(nullName.getUsername()).isNull();
+        assertThat(literalNull.getUsername()).isEqualTo("null");
+        assertThat(MemberCursor.decode(new MemberCursor("a:b~", 2L).encode()).getUsername()).isEqualTo("a:b~");
+    }
+
+    @Test
+    public void findByAgeAdaptive() {
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(new Member("adaptive" + i, 77));
+        }
 
-}
\ No newline at end of file
+        PageRequest firstPage = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+        // 캐시가 없으면 count(*) over() 로 정확한 건수
+        EstimatedPage<Member> page1 = memberRepository.findByAgeAdaptive(77, firstPage);
+        assertThat(page1.getContent().size()).isEqualTo(3);
+        assertThat(page1.getTotalElements()).isEqualTo(5);
+        assertThat(page1.isTotalExact()).isTrue();
+
+        // 마지막 페이지는 덜 찼으므로 정확
+        EstimatedPage<Member> page2 = memberRepository.findByAgeAdaptive(77, firstPage.next());
+        assertThat(page2.getContent().size()).isEqualTo(2);
+        assertThat(page2.getTotalElements()).isEqualTo(5);
+        assertThat(page2.isTotalExact()).isTrue();
+
+        // 가득 찬 페이지는 캐시된 추정치
+        EstimatedPage<Member> again = memberRepository.findByAgeAdaptive(77, firstPage);
+        assertThat(again.getTotalElements()).isEqualTo(5);
+        assertThat(again.isTotalExact()).isFalse();
+    }
+
+    @Test
+    public void batchFetchTeam() {
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team("batchTeam" + i);
+            teamRepository.save(team);
+            memberRepository.save(new Member("batchMember" + i, 10, team));
+        }
+
+        em.flush();
+        em.clear();
+
+        QueryCountHolder.start("batchFetchTeam");
+        List<Member> members = memberRepository.findMemberCustom();
+        for (Member member : members) {
+            if (member.getTeam() != null) {
+                member.getTeam().getName();
+            }
+        }
+        QueryCountHolder.Scope scope = QueryCountHolder.end();
+
+        // member 1번 + team 은 default_batch_fetch_size 로 in 쿼리 1번
+        assertThat(scope.getCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void compiledProjections() {
+        Team team = new Team("teamC");
+        em.persist(team);
+        memberRepository.save(new Member("memberC1", 10, team));
+
+        em.flush();
+        em.clear();
+
+        List<UsernameOnlyDto> dtos = memberRepository.findCompiledProjectionByUsername("memberC1", UsernameOnlyDto.class);
+        assertThat(dtos).extracting("username").containsExactly("memberC1");
+
+        List<NestedClosedProjections> nested = memberRepository.findCompiledProjectionByUsername("memberC1", NestedClosedProjections.class);
+        assertThat(nested.get(0).getUsername()).isEqualTo("memberC1");
+        assertThat(nested.get(0).getTeam().getName()).isEqualTo("teamC");
+        assertThat(nested.get(0).getTeam()).isSameAs(nested.get(0).getTeam());
+        assertThat(nested.get(0).teamName()).isEqualTo("teamC");
+    }
+
+    @Test
+    public void compiledProjectionWithoutTeam() {
+        memberRepository.save(new Member("memberC2", 10));
+
+        em.flush();
+        em.clear();
+
+        List<NestedClosedProjections> nested = memberRepository.findCompiledProjectionByUsername("memberC2", NestedClosedProjections.class);
+        assertThat(nested.get(0).getUsername()).isEqualTo("memberC2");
+        assertThat(nested.get(0).getTeam()).isNull();
+        assertThat(nested.get(0).teamName()).isEqualTo("-");
+    }
+
+    @Test
+    public void findAllInOrder() {
+        Member member1 = memberRepository.save(new Member("lookup1", 10));
+        Member member2 = memberRepository.save(new Member("lookup2", 20));
+        Member member3 = memberRepository.save(new Member("lookup3", 30));
+
+        em.flush();
+        em.clear();
+
+        List<Member> byId = memberRepository.findAllByIdInOrder(
+                Arrays.asList(member3.getId(), -1L, member1.getId(), member2.getId()));
+        assertThat(byId).extracting("username").containsExactly("lookup3", "lookup1", "lookup2");
+
+        List<Member> byUsername = memberRepository.findAllByUsernameInOrder(
+                Arrays.asList("lookup2", "none", "lookup3", "lookup1"));
+        assertThat(byUsername).extracting("username").containsExactly("lookup2", "lookup3", "lookup1");
+    }
+
+    @Test
+    public void findMemberDtoPage() {
+        Team team = new Team("dtoTeam");
+        em.persist(team);
+        memberRepository.save(new Member("AAAdto1", 10, team));
+        memberRepository.save(new Member("AAAdto2", 20));
+
+        em.flush();
+        em.clear();
+
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(PageRequest.of(0, 2, Sort.by("username")));
+        assertThat(page.getContent()).extracting("username").containsExactly("AAAdto1", "AAAdto2");
+        assertThat(page.getContent()).extracting("teamname").containsExactly("dtoTeam", null);
+        assertThat(page.getTotalElements()).isEqualTo(memberRepository.count());
+
+        // dto 조회는 영속성 컨텍스트에 엔티티를 남기지 않는다
+        memberRepository.findMemberDtoPage(PageRequest.of(0, 2, Sort.by("teamname")));
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+
+        assertThrows(InvalidSortException.class,
+                () -> memberRepository.findMemberDtoPage(PageRequest.of(0, 2, Sort.by("team.name"))));
+    }
+}
@@ -0,0 +1,98 @@
+package study.data_jpa.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import study.data_jpa.entity.Member;
+import study.data_jpa.support.retry.OptimisticLockRetryExecutor;
+import study.data_jpa.support.retry.OptimisticLockRetryProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 시도마다 새 트랜잭션으로 커밋하므로 테스트 트랜잭션 없이 실행
+@SpringBootTest
+class OptimisticLockRetryTest {
+
+    @Autowired
+    OptimisticLockRetryExecutor retryExecutor;
+
+    @Autowired
+    OptimisticLockRetryProperties retryProperties;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    List<Long> memberIds = new ArrayList<>();
+
+    // 커밋된 데이터라 다른 테스트에 영향이 없도록 지운다
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllById(memberIds);
+    }
+
+    @Test
+    public void retryOnConflict() {
+        Long id = save(new Member("optimistic1", 7000));
+        AtomicInteger attempts = new AtomicInteger();
+
+        retryExecutor.run(status -> {
+            Member member = memberRepository.findById(id).get();
+            if (attempts.incrementAndGet() == 1) {
+                // 첫 시도 중에 다른 트랜잭션이 먼저 수정하고 커밋
+                concurrentUpdate(id);
+            }
+            member.setAge(member.getAge() + 1);
+        });
+
+        Member result = memberRepository.findById(id).get();
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(result.getAge()).isEqualTo(7101);
+        assertThat(result.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    public void rethrowWhenAttemptsExhausted() {
+        Long id = save(new Member("optimistic2", 7000));
+        AtomicInteger attempts = new AtomicInteger();
+        double exhaustedBefore = meterRegistry.counter("optimistic-lock.exhausted").count();
+        double retriesBefore = meterRegistry.counter("optimistic-lock.retries").count();
+
+        // 매 시도마다 다른 트랜잭션이 먼저 커밋해서 계속 충돌한다
+        assertThatThrownBy(() -> retryExecutor.run(status -> {
+            attempts.incrementAndGet();
+            Member member = memberRepository.findById(id).get();
+            concurrentUpdate(id);
+            member.setAge(member.getAge() + 1);
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        int maxAttempts = retryProperties.getMaxAttempts();
+        assertThat(attempts.get()).isEqualTo(maxAttempts);
+        assertThat(meterRegistry.counter("optimistic-lock.exhausted").count() - exhaustedBefore).isEqualTo(1);
+        assertThat(meterRegistry.counter("optimistic-lock.retries").count() - retriesBefore).isEqualTo(maxAttempts - 1);
+        assertThat(memberRepository.findById(id).get().getAge()).isEqualTo(7000 + 100 * maxAttempts);
+    }
+
+    private Long save(Member member) {
+        Long id = memberRepository.save(member).getId();
+        memberIds.add(id);
+        return id;
+    }
+
+    private void concurrentUpdate(Long id) {
+        retryExecutor.run(other -> {
+            Member concurrent = memberRepository.findById(id).get();
+            concurrent.setAge(concurrent.getAge() + 100);
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.entity.Member;
+import study.data_jpa.support.persistencecontext.BatchTransaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class PersistenceContextGuardTest {
+
+    @Autowired
+    BatchMemberLoader batchMemberLoader;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    public void detachOldestInBatchTransaction() {
+        long before = memberJpaRepository.count();
+
+        List<Member> saved = batchMemberLoader.saveAll(200);
+
+        assertThat(managedEntities()).isLessThanOrEqualTo(50);
+        assertThat(em.contains(saved.get(0))).isFalse();
+        assertThat(em.contains(saved.get(saved.size() - 1))).isTrue();
+        assertThat(memberJpaRepository.count()).isEqualTo(before + 200);
+    }
+
+    @Test
+    public void noGuardOutsideBatchTransaction() {
+        for (int i = 0; i < 100; i++) {
+            memberJpaRepository.save(new Member("guardNone" + i, i));
+        }
+
+        assertThat(managedEntities()).isGreaterThanOrEqualTo(100);
+    }
+
+    private int managedEntities() {
+        return em.unwrap(SessionImplementor.class).getPersistenceContextInternal().getNumberOfManagedEntities();
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        BatchMemberLoader batchMemberLoader(MemberJpaRepository memberJpaRepository) {
+            return new BatchMemberLoader(memberJpaRepository);
+        }
+    }
+
+    static class BatchMemberLoader {
+
+        private final MemberJpaRepository memberJpaRepository;
+
+        BatchMemberLoader(MemberJpaRepository memberJpaRepository) {
+            this.memberJpaRepository = memberJpaRepository;
+        }
+
+        @BatchTransaction(maxManagedEntities = 50)
+        public List<Member> saveAll(int count) {
+            List<Member> members = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                members.add(memberJpaRepository.save(new Member("guard" + i, i)));
+            }
+            return members;
+        }
+    }
+}
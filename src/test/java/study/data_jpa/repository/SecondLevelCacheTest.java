@@ -0,0 +1,71 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 2차 캐시는 커밋 후에 채워지므로 테스트 트랜잭션 없이 실행
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    private static final String TEAM_MEMBERS = Team.class.getName() + ".members";
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void teamAndMembersCacheHitAndEvictOnTeamChange() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        SessionFactory sessionFactory = emf.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+
+        Long[] ids = tx.execute(status -> {
+            Team teamA = new Team("cacheTeamA");
+            Team teamB = new Team("cacheTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            Member member = new Member("cacheMember", 10, teamA);
+            em.persist(member);
+            return new Long[]{teamA.getId(), teamB.getId(), member.getId()};
+        });
+        Long teamAId = ids[0];
+        Long teamBId = ids[1];
+        Long memberId = ids[2];
+
+        // 첫 조회로 컬렉션 캐시를 채운다
+        tx.executeWithoutResult(status -> assertThat(em.find(Team.class, teamAId).getMembers()).hasSize(1));
+
+        long teamHits = statistics.getEntityStatistics(Team.class.getName()).getCacheHitCount();
+        long membersHits = statistics.getCollectionStatistics(TEAM_MEMBERS).getCacheHitCount();
+        tx.executeWithoutResult(status -> assertThat(em.find(Team.class, teamAId).getMembers())
+                .extracting(Member::getId).containsExactly(memberId));
+        assertThat(statistics.getEntityStatistics(Team.class.getName()).getCacheHitCount()).isGreaterThan(teamHits);
+        assertThat(statistics.getCollectionStatistics(TEAM_MEMBERS).getCacheHitCount()).isGreaterThan(membersHits);
+
+        // 팀 이동 후에는 두 팀의 컬렉션 캐시가 비워져서 db 에서 다시 읽는다
+        tx.executeWithoutResult(status -> em.find(Member.class, memberId).chageTeam(em.find(Team.class, teamBId)));
+        assertThat(emf.getCache().contains(Member.class, memberId)).isTrue();
+        assertThat(sessionFactory.getCache().containsCollection(TEAM_MEMBERS, teamAId)).isFalse();
+
+        tx.executeWithoutResult(status -> {
+            assertThat(em.find(Team.class, teamAId).getMembers()).isEmpty();
+            assertThat(em.find(Team.class, teamBId).getMembers()).extracting(Member::getId).containsExactly(memberId);
+        });
+    }
+}
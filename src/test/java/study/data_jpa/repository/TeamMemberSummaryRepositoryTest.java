@@ -0,0 +1,72 @@
+package study.data_jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.entity.Member;
+import study.data_jpa.entity.Team;
+import study.data_jpa.entity.TeamMemberSummary;
+import study.data_jpa.support.summary.TeamMemberSummaryRebuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TeamMemberSummaryRepositoryTest {
+
+    @Autowired
+    TeamMemberSummaryRepository teamMemberSummaryRepository;
+
+    @Autowired
+    TeamMemberSummaryRebuilder teamMemberSummaryRebuilder;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    public void summaryMaintainedIncrementally() {
+        Team teamA = new Team("summaryA");
+        Team teamB = new Team("summaryB");
+        em.persist(teamA);
+        em.persist(teamB);
+        Member member1 = new Member("summary1", 10, teamA);
+        em.persist(member1);
+        em.persist(new Member("summary2", 20, teamA));
+        em.persist(new Member("summary3", 30, teamB));
+
+        em.flush();
+        em.clear();
+
+        assertSummary(teamA.getId(), "summaryA", 2, 30);
+        assertSummary(teamB.getId(), "summaryB", 1, 30);
+
+        // 팀 변경
+        Member findMember = memberRepository.findById(member1.getId()).get();
+        findMember.chageTeam(em.find(Team.class, teamB.getId()));
+        em.flush();
+        em.clear();
+
+        assertSummary(teamA.getId(), "summaryA", 1, 20);
+        assertSummary(teamB.getId(), "summaryB", 2, 40);
+
+        // 벌크 연산 (summary2, summary3 만 대상)
+        memberRepository.bulkAgePlus(15);
+
+        assertSummary(teamA.getId(), "summaryA", 1, 21);
+        assertSummary(teamB.getId(), "summaryB", 2, 41);
+        assertThat(teamMemberSummaryRebuilder.verify()).doesNotContain(teamA.getId(), teamB.getId());
+    }
+
+    private void assertSummary(Long teamId, String teamName, long memberCount, long ageSum) {
+        em.clear();
+        TeamMemberSummary summary = teamMemberSummaryRepository.findById(teamId).get();
+        assertThat(summary.getTeamName()).isEqualTo(teamName);
+        assertThat(summary.getMemberCount()).isEqualTo(memberCount);
+        assertThat(summary.getAgeSum()).isEqualTo(ageSum);
+    }
+}
@@ -0,0 +1,56 @@
+package study.data_jpa.support.metrics;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.dto.QueryStatsDto;
+import study.data_jpa.dto.QueryStatsReportDto;
+import study.data_jpa.entity.Member;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class QueryStatisticsEndpointTest {
+
+    private static final String QUERY = "select m from Member m where m.username = :username";
+
+    @Autowired
+    QueryStatisticsEndpoint endpoint;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    public void perQueryStatisticsAndReset() {
+        em.persist(new Member("stats1", 10));
+        em.persist(new Member("stats1", 20));
+        em.flush();
+        endpoint.reset();
+
+        for (int i = 0; i < 2; i++) {
+            em.createQuery(QUERY, Member.class).setParameter("username", "stats1").getResultList();
+        }
+
+        QueryStatsReportDto report = endpoint.queryStatistics("count", null);
+        assertThat(report.isStatisticsEnabled()).isTrue();
+        assertThat(report.getQueryExecutionCount()).isGreaterThanOrEqualTo(2);
+        QueryStatsDto stats = report.getQueries().stream()
+                .filter(q -> q.getQuery().equals(QUERY))
+                .findFirst()
+                .orElseThrow();
+        assertThat(stats.getExecutionCount()).isEqualTo(2);
+        assertThat(stats.getExecutionRowCount()).isEqualTo(4);
+        assertThat(stats.getPlanCacheHitCount() + stats.getPlanCacheMissCount()).isEqualTo(2);
+
+        // limit 으로 상위 n 개만
+        assertThat(endpoint.queryStatistics("count", 0).getQueries()).isEmpty();
+
+        endpoint.reset();
+        QueryStatsReportDto cleared = endpoint.queryStatistics(null, null);
+        assertThat(cleared.getQueryExecutionCount()).isZero();
+        assertThat(cleared.getQueries()).noneMatch(q -> q.getExecutionCount() > 0);
+    }
+}
@@ -0,0 +1,69 @@
+package study.data_jpa.support.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.transaction.annotation.Transactional;
+import study.data_jpa.entity.Team;
+import study.data_jpa.repository.MemberRepository;
+import study.data_jpa.repository.TeamRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class RepositoryMetricsAspectTest {
+
+    // 테스트에서는 메트릭 export 가 꺼져 있어도 SimpleMeterRegistry 로 고정
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        SimpleMeterRegistry simpleMeterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void recordsTimerWithRepositoryMethodOutcomeTags() {
+        assertThat(registry).isInstanceOf(SimpleMeterRegistry.class);
+
+        teamRepository.save(new Team("metricsTeam"));
+        int teams = teamRepository.findAll().size();
+
+        Timer success = registry.get("repository.invocations")
+                .tag("repository", "TeamRepository")
+                .tag("method", "findAll")
+                .tag("outcome", "success")
+                .timer();
+        assertThat(success.count()).isEqualTo(1);
+        assertThat(registry.get("repository.rows")
+                .tag("repository", "TeamRepository")
+                .tag("method", "findAll")
+                .summary().totalAmount()).isEqualTo(teams);
+
+        assertThatThrownBy(() -> memberRepository.findById(null))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class);
+        assertThat(registry.get("repository.invocations")
+                .tag("repository", "MemberRepository")
+                .tag("method", "findById")
+                .tag("outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,94 @@
+package study.data_jpa.support.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import study.data_jpa.entity.Member;
+import study.data_jpa.repository.MemberRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// primary/replica 를 서로 다른 in-memory h2 로 띄워서 어느 쪽에서 읽는지 데이터로 확인
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "app.datasource.replica.url=" + ReplicaRoutingTest.REPLICA_URL
+})
+@ActiveProfiles("replica")
+class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    HikariDataSource replicaDataSource;
+
+    JdbcTemplate replica;
+
+    // 복제는 없으므로 primary 스키마를 replica 에 만들고, replica 에만 있는 회원을 넣어 둔다
+    @BeforeEach
+    void prepareReplica() {
+        replica = new JdbcTemplate(new SingleConnectionDataSource(REPLICA_URL, "sa", "", true));
+        Integer tables = replica.queryForObject(
+                "select count(*) from information_schema.tables where table_name = 'MEMBER'", Integer.class);
+        if (tables == null || tables == 0) {
+            List<String> ddl = new JdbcTemplate(primaryDataSource).queryForList("script nodata", String.class);
+            ddl.stream()
+                    .filter(sql -> !sql.startsWith("CREATE USER") && !sql.startsWith("--"))
+                    .forEach(replica::execute);
+            replica.update("insert into member (member_id, username, age, version) values (?, ?, ?, ?)",
+                    1_000_000_000L, "replicaOnly", 1, 0);
+        }
+    }
+
+    @Test
+    public void readOnlyToReplicaWritesAndLocksToPrimary() {
+        memberRepository.save(new Member("routing1", 10));
+
+        // save 는 primary 에만 쓴다
+        assertThat(new JdbcTemplate(primaryDataSource).queryForObject(
+                "select count(*) from member where username = 'routing1'", Integer.class)).isEqualTo(1);
+        assertThat(replica.queryForObject(
+                "select count(*) from member where username = 'routing1'", Integer.class)).isZero();
+
+        // readOnly 트랜잭션은 replica 에서 읽는다
+        assertThat(memberRepository.findReadOnlyMembersByUsername("replicaOnly")).hasSize(1);
+        assertThat(memberRepository.findReadOnlyMembersByUsername("routing1")).isEmpty();
+
+        // 비관적 락 조회는 쓰기 트랜잭션이라 primary
+        assertThat(memberRepository.findLockByUsername("routing1")).isNotNull();
+    }
+
+    @Test
+    @DirtiesContext
+    public void fallbackToPrimaryWhenReplicaUnavailable() {
+        memberRepository.save(new Member("routing2", 20));
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+        assertThat(memberRepository.findReadOnlyMembersByUsername("routing2")).isEmpty();
+
+        replicaDataSource.close();
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        assertThat(memberRepository.findReadOnlyMembersByUsername("routing2")).hasSize(1);
+    }
+}